@@ -6,6 +6,7 @@ import com.b26.backend.board.domain.BoardService;
 import com.b26.backend.user.persistence.AppUserEntity;
 import jakarta.validation.Valid;
 import java.util.List;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/board")
@@ -27,9 +29,13 @@ public class BoardController {
     this.authService = authService;
   }
 
+  // Cache hits carry their own version tag; only conditional requests look the version up.
   @GetMapping("/{boardId}")
-  public BoardDto getBoard(@PathVariable String boardId) {
-    return boardService.getBoard(boardId);
+  public ResponseEntity<byte[]> getBoard(@PathVariable String boardId, WebRequest request) {
+    return BoardJsonResponses.ok(
+        request,
+        () -> boardService.getVersionTag(boardId),
+        versionTag -> boardService.getBoardPayload(boardId, versionTag));
   }
 
   @GetMapping
@@ -56,14 +62,16 @@ public class BoardController {
   public BoardPermissionsResponse getBoardPermissions(
       @PathVariable String boardId,
       @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-    AppUserEntity user = null;
-    try {
-      user = authService.getAuthenticatedUser(authorizationHeader);
-    } catch (AuthUnauthorizedException ignored) {
-      user = null;
-    }
+    return new BoardPermissionsResponse(
+        boardService.canEditBoard(boardId, findUser(authorizationHeader)));
+  }
 
-    return new BoardPermissionsResponse(boardService.canEditBoard(boardId, user));
+  // One round trip for the board page instead of board, widgets, permissions and system routes.
+  @GetMapping("/{boardId}/page")
+  public BoardPageResponse getBoardPage(
+      @PathVariable String boardId,
+      @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
+    return boardService.getBoardPage(boardId, findUser(authorizationHeader));
   }
 
   @PutMapping("/{boardId}")
@@ -89,4 +97,12 @@ public class BoardController {
       @PathVariable String boardId, @Valid @RequestBody UpdateBoardIdentityRequest request) {
     return boardService.updateBoardIdentity(boardId, request);
   }
+
+  private AppUserEntity findUser(String authorizationHeader) {
+    try {
+      return authService.getAuthenticatedUser(authorizationHeader);
+    } catch (AuthUnauthorizedException ignored) {
+      return null;
+    }
+  }
 }
@@ -0,0 +1,103 @@
+package com.b26.backend.board.api;
+
+import com.b26.backend.board.domain.BoardPayload;
+import com.b26.backend.board.domain.BoardSnapshot;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional, content-negotiated responses for cached board reads. The gzip variant gets its own
+ * ETag, since a strong validator must differ between encodings of the same version.
+ */
+public final class BoardJsonResponses {
+  private static final String GZIP = "gzip";
+
+  private BoardJsonResponses() {}
+
+  /**
+   * Unconditional requests are served straight from the cache with the tag stored alongside the
+   * bytes, so a hit never touches the database; staleness is bounded by the cache TTL on other
+   * nodes. Only requests carrying If-None-Match pay for {@code versionLookup}, a projection query,
+   * so a 304 is never answered from a stale entry.
+   */
+  public static ResponseEntity<byte[]> ok(
+      WebRequest request,
+      Supplier<String> versionLookup,
+      Function<String, BoardSnapshot<BoardPayload>> loader) {
+    boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    String versionTag = null;
+    String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+    if (ifNoneMatch != null) {
+      versionTag = versionLookup.get();
+      // Matched here rather than with WebRequest.checkNotModified, which would already set an ETag
+      // header that disagrees with the body when the board changes before it is loaded.
+      if (matches(ifNoneMatch, eTag(versionTag, gzip))) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(eTag(versionTag, gzip))
+            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+            .build();
+      }
+    }
+    BoardSnapshot<BoardPayload> snapshot = loader.apply(versionTag);
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .eTag(eTag(snapshot.versionTag(), gzip))
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(snapshot.value().gzip());
+    }
+    return response.body(snapshot.value().json());
+  }
+
+  private static String eTag(String versionTag, boolean gzip) {
+    return gzip ? versionTag + "-" + GZIP : versionTag;
+  }
+
+  // Weak comparison, as RFC 9110 prescribes for If-None-Match.
+  private static boolean matches(String ifNoneMatch, String eTag) {
+    String quoted = "\"" + eTag + "\"";
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(quoted)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Only an explicit gzip coding counts; identity is always acceptable, so "*" changes nothing.
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String part : acceptEncoding.split(",")) {
+      String[] params = part.split(";");
+      if (!params[0].trim().equalsIgnoreCase(GZIP)) {
+        continue;
+      }
+      for (int i = 1; i < params.length; i++) {
+        String param = params[i].trim().toLowerCase();
+        if (param.startsWith("q=")) {
+          try {
+            return Double.parseDouble(param.substring(2).trim()) > 0;
+          } catch (NumberFormatException exception) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+}
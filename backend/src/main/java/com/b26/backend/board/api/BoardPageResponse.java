@@ -0,0 +1,12 @@
+package com.b26.backend.board.api;
+
+import com.b26.backend.system.api.SystemRoutesDto;
+import com.b26.backend.widget.api.WidgetDto;
+import java.util.List;
+
+public record BoardPageResponse(
+    BoardDto board,
+    List<CardDto> cards,
+    List<WidgetDto> widgets,
+    boolean canEdit,
+    SystemRoutesDto routes) {}
@@ -0,0 +1,70 @@
+package com.b26.backend.board.domain;
+
+import com.b26.backend.board.persistence.BoardRepository;
+import com.b26.backend.board.persistence.CardRepository;
+import com.b26.backend.common.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Board id to card ids, so public click and view tracking can be validated without queries. */
+@Component
+public class BoardCardMembershipCache {
+  private final BoardRepository boardRepository;
+  private final CardRepository cardRepository;
+  private final BoundedTtlCache<String, Set<String>> cache;
+
+  public BoardCardMembershipCache(
+      BoardRepository boardRepository,
+      CardRepository cardRepository,
+      MeterRegistry meterRegistry,
+      @Value("${app.board.membership-cache.max-boards:10000}") int maxBoards,
+      @Value("${app.board.membership-cache.ttl-seconds:300}") long ttlSeconds) {
+    this.boardRepository = boardRepository;
+    this.cardRepository = cardRepository;
+    this.cache =
+        new BoundedTtlCache<>(
+            "board.card.membership", maxBoards, Duration.ofSeconds(ttlSeconds), meterRegistry);
+  }
+
+  public boolean containsBoard(String boardId) {
+    return cardIds(boardId) != null;
+  }
+
+  public boolean containsCard(String boardId, String cardId) {
+    Set<String> cardIds = cardIds(boardId);
+    return cardIds != null && cardIds.contains(cardId);
+  }
+
+  /** Card ids of the board, or {@code null} when the board does not exist (not cached). */
+  public Set<String> cardIds(String boardId) {
+    return cache.get(
+        boardId,
+        id ->
+            boardRepository.existsById(id)
+                ? Set.copyOf(cardRepository.findIdsByBoardId(id))
+                : null);
+  }
+
+  /** Drops the board now and again once the surrounding transaction commits. */
+  public void invalidate(String boardId) {
+    cache.invalidate(boardId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              cache.invalidate(boardId);
+            }
+          });
+    }
+  }
+
+  public void clear() {
+    cache.invalidateAll();
+  }
+}
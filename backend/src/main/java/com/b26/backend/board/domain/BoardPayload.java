@@ -0,0 +1,20 @@
+package com.b26.backend.board.domain;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/** A board read as UTF-8 JSON and its gzip encoding, both built once per board version. */
+public record BoardPayload(byte[] json, byte[] gzip) {
+
+  public static BoardPayload of(byte[] json) {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(json);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+    return new BoardPayload(json, compressed.toByteArray());
+  }
+}
@@ -0,0 +1,104 @@
+package com.b26.backend.board.domain;
+
+import com.b26.backend.board.api.BoardDto;
+import com.b26.backend.common.cache.BoundedTtlCache;
+import com.b26.backend.widget.api.WidgetDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Board URL to the public board and widget list, each with the version tag it was loaded at and
+ * already serialized to UTF-8 JSON and gzip, so reads write the bytes without going through
+ * Jackson or a compressor.
+ * Writers invalidate every URL they touch, the old and the new one on a URL change, both
+ * immediately and once their transaction commits; the next read rebuilds the bytes.
+ */
+@Component
+public class BoardReadCache {
+  private final BoundedTtlCache<String, BoardSnapshot<BoardPayload>> boards;
+  private final BoundedTtlCache<String, BoardSnapshot<BoardPayload>> widgets;
+  private final ObjectMapper objectMapper;
+
+  public BoardReadCache(
+      MeterRegistry meterRegistry,
+      ObjectMapper objectMapper,
+      @Value("${app.board.read-cache.max-boards:10000}") int maxBoards,
+      @Value("${app.board.read-cache.ttl-seconds:60}") long ttlSeconds) {
+    Duration ttl = Duration.ofSeconds(ttlSeconds);
+    this.boards = new BoundedTtlCache<>("board", maxBoards, ttl, meterRegistry);
+    this.widgets = new BoundedTtlCache<>("board.widgets", maxBoards, ttl, meterRegistry);
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Returns the cached board, reloading it once when it was cached for another version than
+   * {@code versionTag}; the snapshot's own tag always describes its value.
+   */
+  public BoardSnapshot<BoardPayload> board(
+      String boardUrl, String versionTag, Function<String, BoardSnapshot<BoardDto>> loader) {
+    return current(boards, boardUrl, versionTag, url -> serialize(loader.apply(url)));
+  }
+
+  public BoardSnapshot<BoardPayload> widgets(
+      String boardUrl,
+      String versionTag,
+      Function<String, BoardSnapshot<List<WidgetDto>>> loader) {
+    return current(widgets, boardUrl, versionTag, url -> serialize(loader.apply(url)));
+  }
+
+  public void invalidateBoard(String boardUrl) {
+    afterCommitToo(() -> boards.invalidate(boardUrl));
+  }
+
+  public void invalidateWidgets(String boardUrl) {
+    afterCommitToo(() -> widgets.invalidate(boardUrl));
+  }
+
+  public void clear() {
+    boards.invalidateAll();
+    widgets.invalidateAll();
+  }
+
+  private BoardSnapshot<BoardPayload> serialize(BoardSnapshot<?> snapshot) {
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(snapshot.value());
+      return new BoardSnapshot<>(snapshot.versionTag(), BoardPayload.of(json));
+    } catch (JsonProcessingException exception) {
+      throw new IllegalStateException("Could not serialize board read", exception);
+    }
+  }
+
+  private static BoardSnapshot<BoardPayload> current(
+      BoundedTtlCache<String, BoardSnapshot<BoardPayload>> cache,
+      String boardUrl,
+      String versionTag,
+      Function<String, BoardSnapshot<BoardPayload>> loader) {
+    BoardSnapshot<BoardPayload> snapshot = cache.get(boardUrl, loader);
+    if (versionTag == null || versionTag.equals(snapshot.versionTag())) {
+      return snapshot;
+    }
+    cache.invalidate(boardUrl);
+    return cache.get(boardUrl, loader);
+  }
+
+  private static void afterCommitToo(Runnable invalidation) {
+    invalidation.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              invalidation.run();
+            }
+          });
+    }
+  }
+}
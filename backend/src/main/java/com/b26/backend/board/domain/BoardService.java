@@ -1,6 +1,8 @@
 package com.b26.backend.board.domain;
 
 import com.b26.backend.board.api.BoardDto;
+import com.b26.backend.board.api.BoardPageResponse;
+import com.b26.backend.board.api.CardDto;
 import com.b26.backend.board.api.UpdateCardRequest;
 import com.b26.backend.board.api.UpdateBoardMetaRequest;
 import com.b26.backend.board.api.UpdateBoardRequest;
@@ -9,6 +11,7 @@ import com.b26.backend.board.api.UpdateBoardUrlRequest;
 import com.b26.backend.board.persistence.CardEntity;
 import com.b26.backend.board.persistence.BoardEntity;
 import com.b26.backend.board.persistence.BoardRepository;
+import com.b26.backend.system.domain.SystemSettingsService;
 import com.b26.backend.user.persistence.AppUserEntity;
 import com.b26.backend.user.persistence.UserPreferenceRepository;
 import com.b26.backend.widget.api.UpsertWidgetRequest;
@@ -23,7 +26,9 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class BoardService {
@@ -31,22 +36,73 @@ public class BoardService {
   private final UserPreferenceRepository userPreferenceRepository;
   private final WidgetService widgetService;
   private final ObjectMapper objectMapper;
+  private final BoardCardMembershipCache membershipCache;
+  private final SystemSettingsService systemSettingsService;
+  private final BoardReadCache readCache;
+  private final TransactionTemplate readOnlyTransaction;
 
   public BoardService(
       BoardRepository boardRepository,
       UserPreferenceRepository userPreferenceRepository,
       WidgetService widgetService,
-      ObjectMapper objectMapper) {
+      ObjectMapper objectMapper,
+      BoardCardMembershipCache membershipCache,
+      SystemSettingsService systemSettingsService,
+      BoardReadCache readCache,
+      PlatformTransactionManager transactionManager) {
     this.boardRepository = boardRepository;
     this.userPreferenceRepository = userPreferenceRepository;
     this.widgetService = widgetService;
     this.objectMapper = objectMapper;
+    this.membershipCache = membershipCache;
+    this.systemSettingsService = systemSettingsService;
+    this.readCache = readCache;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
   }
 
+  /** Version tag of the board row, from a projection that loads no entity. */
+  public String getVersionTag(String boardId) {
+    return boardRepository
+        .findVersionByBoardUrl(boardId)
+        .orElseThrow(() -> new BoardNotFoundException(boardId))
+        .versionTag();
+  }
+
+  /**
+   * The board as cached JSON and gzip bytes. {@code versionTag}, when the caller looked it up, makes
+   * an entry cached at another version reload; null takes whatever is cached.
+   */
+  public BoardSnapshot<BoardPayload> getBoardPayload(String boardId, String versionTag) {
+    return readCache.board(
+        boardId,
+        versionTag,
+        url ->
+            readOnlyTransaction.execute(
+                status -> {
+                  BoardEntity board = findBoardByUrl(url);
+                  return new BoardSnapshot<>(board.versionTag(), toDto(board));
+                }));
+  }
+
+  /**
+   * Everything the board page renders: the board with its cards from one query, and its widgets
+   * from a second one, so the two collections never multiply into one result set.
+   */
   @Transactional(readOnly = true)
-  public BoardDto getBoard(String boardId) {
-    BoardEntity board = findBoardByUrl(boardId);
-    return toDto(board);
+  public BoardPageResponse getBoardPage(String boardId, AppUserEntity user) {
+    BoardEntity board =
+        boardRepository
+            .findPageByBoardUrl(boardId)
+            .orElseThrow(() -> new BoardNotFoundException(boardId));
+    return new BoardPageResponse(
+        toDto(board),
+        board.getCards().stream()
+            .map(card -> new CardDto(card.getId(), card.getLabel(), card.getHref()))
+            .toList(),
+        widgetService.getWidgets(board),
+        canEdit(board, user),
+        systemSettingsService.getRoutes());
   }
 
   @Transactional(readOnly = true)
@@ -84,8 +140,7 @@ public class BoardService {
       return false;
     }
 
-    BoardEntity board = findBoardByUrl(boardId);
-    return isAdmin(user) || user.getId().equals(board.getOwnerUserId());
+    return canEdit(findBoardByUrl(boardId), user);
   }
 
   @Transactional
@@ -141,6 +196,8 @@ public class BoardService {
       board.getCards().add(card);
     }
 
+    membershipCache.invalidate(board.getId());
+    readCache.invalidateBoard(board.getBoardUrl());
     return persist(board);
   }
 
@@ -150,6 +207,7 @@ public class BoardService {
 
     board.setName(request.name());
     board.setHeadline(request.headline());
+    readCache.invalidateBoard(board.getBoardUrl());
     return persist(board);
   }
 
@@ -162,6 +220,7 @@ public class BoardService {
       throw new InvalidBoardUpdateException("board_url is already used: " + normalized);
     }
 
+    invalidateUrlChange(board.getBoardUrl(), normalized);
     board.setBoardUrl(normalized);
     return persist(board);
   }
@@ -180,11 +239,20 @@ public class BoardService {
       throw new InvalidBoardUpdateException("board_url is already used: " + normalizedUrl);
     }
 
+    invalidateUrlChange(board.getBoardUrl(), normalizedUrl);
     board.setBoardName(normalizedBoardName);
     board.setBoardUrl(normalizedUrl);
     return persist(board);
   }
 
+  // Widgets are cached by board URL as well, so both entries move with the URL.
+  private void invalidateUrlChange(String previousUrl, String nextUrl) {
+    for (String boardUrl : List.of(previousUrl, nextUrl)) {
+      readCache.invalidateBoard(boardUrl);
+      readCache.invalidateWidgets(boardUrl);
+    }
+  }
+
   private BoardDto persist(BoardEntity board) {
     board.setUpdatedAt(OffsetDateTime.now());
     try {
@@ -207,6 +275,10 @@ public class BoardService {
     }
   }
 
+  private static boolean canEdit(BoardEntity board, AppUserEntity user) {
+    return user != null && (isAdmin(user) || user.getId().equals(board.getOwnerUserId()));
+  }
+
   private static boolean isAdmin(AppUserEntity user) {
     return user.getRole() != null && "ADMIN".equalsIgnoreCase(user.getRole().trim());
   }
@@ -0,0 +1,4 @@
+package com.b26.backend.board.domain;
+
+/** A board read together with the version tag of the board row it was loaded from. */
+public record BoardSnapshot<T>(String versionTag, T value) {}
@@ -103,6 +103,18 @@ public class BoardEntity {
     return version;
   }
 
+  /**
+   * Changes whenever the board row does; widget and card writers touch {@code updatedAt}, so it
+   * also covers the board's widgets.
+   */
+  public String versionTag() {
+    return versionTag(version, updatedAt);
+  }
+
+  public static String versionTag(Long version, OffsetDateTime updatedAt) {
+    return version + "-" + (updatedAt == null ? 0 : updatedAt.toInstant().toEpochMilli());
+  }
+
   public List<CardEntity> getCards() {
     return cards;
   }
@@ -4,11 +4,28 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface BoardRepository extends JpaRepository<BoardEntity, String> {
   @Query("select distinct p from BoardEntity p left join fetch p.cards")
   List<BoardEntity> findAllWithCards();
 
+  @Query(
+      """
+      select b from BoardEntity b
+      left join fetch b.cards
+      where b.boardUrl = :boardUrl
+      """)
+  Optional<BoardEntity> findPageByBoardUrl(@Param("boardUrl") String boardUrl);
+
+  @Query(
+      """
+      select b.version as version, b.updatedAt as updatedAt
+      from BoardEntity b
+      where b.boardUrl = :boardUrl
+      """)
+  Optional<BoardVersionView> findVersionByBoardUrl(@Param("boardUrl") String boardUrl);
+
   boolean existsByBoardUrlAndIdNot(String boardUrl, String id);
 
 
@@ -0,0 +1,13 @@
+package com.b26.backend.board.persistence;
+
+import java.time.OffsetDateTime;
+
+public interface BoardVersionView {
+  Long getVersion();
+
+  OffsetDateTime getUpdatedAt();
+
+  default String versionTag() {
+    return BoardEntity.versionTag(getVersion(), getUpdatedAt());
+  }
+}
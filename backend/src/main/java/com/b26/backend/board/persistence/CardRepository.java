@@ -1,7 +1,13 @@
 package com.b26.backend.board.persistence;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CardRepository extends JpaRepository<CardEntity, Long> {
   boolean existsByBoard_IdAndId(String boardId, String id);
+
+  @Query("select c.id from CardEntity c where c.board.id = :boardId")
+  List<String> findIdsByBoardId(@Param("boardId") String boardId);
 }
@@ -7,6 +7,11 @@ import com.b26.backend.board.domain.BoardNotFoundException;
 import com.b26.backend.board.domain.InvalidBoardUpdateException;
 import com.b26.backend.insights.domain.CardNotFoundForBoardException;
 import com.b26.backend.insights.domain.ClickRateLimitedException;
+import com.b26.backend.insights.domain.InsightsAccessDeniedException;
+import com.b26.backend.insights.domain.InsightsIngestionOverloadedException;
+import com.b26.backend.insights.domain.InsightsPayloadTooLargeException;
+import com.b26.backend.insights.domain.InsightsStreamCapacityException;
+import com.b26.backend.insights.domain.InvalidInsightsQueryException;
 import com.b26.backend.user.domain.InvalidUserPreferencesException;
 import com.b26.backend.user.domain.InvalidUserProfileException;
 import com.b26.backend.user.domain.UserNotFoundException;
@@ -64,6 +69,37 @@ public class GlobalExceptionHandler {
     return new ApiError(exception.getMessage());
   }
 
+  @ExceptionHandler(InsightsAccessDeniedException.class)
+  @ResponseStatus(HttpStatus.FORBIDDEN)
+  public ApiError handleInsightsAccessDenied(InsightsAccessDeniedException exception) {
+    return new ApiError(exception.getMessage());
+  }
+
+  @ExceptionHandler(InsightsIngestionOverloadedException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ApiError handleIngestionOverloaded(InsightsIngestionOverloadedException exception) {
+    return new ApiError(exception.getMessage());
+  }
+
+  @ExceptionHandler(InsightsPayloadTooLargeException.class)
+  @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+  public ApiError handlePayloadTooLarge(InsightsPayloadTooLargeException exception) {
+    return new ApiError(exception.getMessage());
+  }
+
+  @ExceptionHandler(InsightsStreamCapacityException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ApiError handleStreamCapacity(InsightsStreamCapacityException exception) {
+    return new ApiError(exception.getMessage());
+  }
+
+  @ExceptionHandler(InvalidInsightsQueryException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ValidationErrorResponse handleInvalidInsightsQuery(InvalidInsightsQueryException exception) {
+    return new ValidationErrorResponse(
+        "Validation failed", List.of(new ValidationFieldError("insights", exception.getMessage())));
+  }
+
   @ExceptionHandler(InvalidWidgetConfigException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ApiError handleInvalidWidgetConfig(InvalidWidgetConfigException exception) {
@@ -0,0 +1,135 @@
+package com.b26.backend.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Small in-process LRU cache with a time-to-live, reporting the standard Micrometer {@code
+ * cache.gets}, {@code cache.evictions} and {@code cache.size} meters tagged with its name.
+ *
+ * <p>Loaders run outside the lock, and concurrent misses on the same key share a single load: one
+ * caller runs the loader while the others wait for its result. A value loaded while an invalidation
+ * happened is returned to the callers already waiting on it but not stored, and later callers start
+ * a fresh load, so an invalidation issued after a write commits is never undone by a reader that
+ * loaded the previous state.
+ */
+public class BoundedTtlCache<K, V> {
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final Map<K, Entry<V>> entries;
+  private final Map<K, CompletableFuture<V>> loading = new HashMap<>();
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+  private long generation;
+
+  public BoundedTtlCache(String name, int maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+    this.maxEntries = Math.max(1, maxEntries);
+    this.ttlNanos = ttl.toNanos();
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() > BoundedTtlCache.this.maxEntries) {
+              evictions.increment();
+              return true;
+            }
+            return false;
+          }
+        };
+
+    this.hits =
+        Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+    this.misses =
+        Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+    this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+    Gauge.builder("cache.size", this, BoundedTtlCache::size).tag("cache", name).register(meterRegistry);
+  }
+
+  /** Returns the cached value or loads it; a {@code null} from the loader is returned uncached. */
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    long observedGeneration;
+    CompletableFuture<V> load;
+    CompletableFuture<V> inFlight;
+    synchronized (this) {
+      Entry<V> entry = entries.get(key);
+      if (entry != null && System.nanoTime() - entry.loadedAt < ttlNanos) {
+        hits.increment();
+        return entry.value;
+      }
+      if (entry != null) {
+        entries.remove(key);
+      }
+      inFlight = loading.get(key);
+      observedGeneration = generation;
+      load = inFlight == null ? new CompletableFuture<>() : null;
+      if (load != null) {
+        loading.put(key, load);
+      }
+    }
+    if (inFlight != null) {
+      hits.increment();
+      return await(inFlight);
+    }
+
+    misses.increment();
+    V value;
+    try {
+      value = loader.apply(key);
+    } catch (RuntimeException | Error exception) {
+      synchronized (this) {
+        loading.remove(key, load);
+      }
+      load.completeExceptionally(exception);
+      throw exception;
+    }
+    synchronized (this) {
+      loading.remove(key, load);
+      if (value != null && generation == observedGeneration) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+      }
+    }
+    load.complete(value);
+    return value;
+  }
+
+  public synchronized void invalidate(K key) {
+    generation++;
+    entries.remove(key);
+    loading.remove(key);
+  }
+
+  public synchronized void invalidateAll() {
+    generation++;
+    entries.clear();
+    loading.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private static <V> V await(CompletableFuture<V> load) {
+    try {
+      return load.join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (exception.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw exception;
+    }
+  }
+
+  private record Entry<V>(V value, long loadedAt) {}
+}
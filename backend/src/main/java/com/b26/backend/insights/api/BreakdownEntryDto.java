@@ -0,0 +1,3 @@
+package com.b26.backend.insights.api;
+
+public record BreakdownEntryDto(String value, long views) {}
@@ -0,0 +1,12 @@
+package com.b26.backend.insights.api;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record InsightsBreakdownResponse(
+    String boardId,
+    String dimension,
+    LocalDate from,
+    LocalDate to,
+    long totalViews,
+    List<BreakdownEntryDto> entries) {}
@@ -1,24 +1,62 @@
 package com.b26.backend.insights.api;
 
+import com.b26.backend.auth.domain.AuthService;
+import com.b26.backend.insights.domain.InsightsExportService;
+import com.b26.backend.insights.domain.InsightsPayloadTooLargeException;
 import com.b26.backend.insights.domain.InsightsService;
+import com.b26.backend.insights.domain.OwnerInsightsService;
+import com.b26.backend.user.persistence.AppUserEntity;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api")
 public class InsightsController {
+  private static final TypeReference<List<RecordEventRequest>> EVENT_BATCH = new TypeReference<>() {};
+  // Matches the 64 KiB sendBeacon quota browsers enforce.
+  private static final int MAX_EVENT_BATCH_BYTES = 64 * 1024;
+
   private final InsightsService insightsService;
+  private final OwnerInsightsService ownerInsightsService;
+  private final InsightsExportService exportService;
+  private final AuthService authService;
+  private final ObjectMapper objectMapper;
 
-  public InsightsController(InsightsService insightsService) {
+  public InsightsController(
+      InsightsService insightsService,
+      OwnerInsightsService ownerInsightsService,
+      InsightsExportService exportService,
+      AuthService authService,
+      ObjectMapper objectMapper) {
     this.insightsService = insightsService;
+    this.ownerInsightsService = ownerInsightsService;
+    this.exportService = exportService;
+    this.authService = authService;
+    this.objectMapper = objectMapper;
   }
 
   @PostMapping("/click/{cardId}")
@@ -44,8 +82,90 @@ public class InsightsController {
     insightsService.recordView(request.boardId(), sourceIp, request.source(), userAgent);
   }
 
+  // navigator.sendBeacon posts text/plain to stay a CORS simple request, so the body is parsed here.
+  @PostMapping(
+      value = "/insights/events",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void recordEvents(HttpServletRequest servletRequest) throws IOException {
+    byte[] body = readEventBatch(servletRequest);
+    List<RecordEventRequest> events;
+    try {
+      events = objectMapper.readValue(body, EVENT_BATCH);
+    } catch (IOException exception) {
+      throw new HttpMessageNotReadableException(
+          "Malformed event batch", exception, new ServletServerHttpRequest(servletRequest));
+    }
+    String sourceIp = servletRequest.getRemoteAddr() == null ? "unknown" : servletRequest.getRemoteAddr();
+    insightsService.recordEvents(events, sourceIp, servletRequest.getHeader("User-Agent"));
+  }
+
+  @GetMapping("/insights/mine/summary")
+  public OwnerInsightsSummaryResponse getMySummary(
+      @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
+    AppUserEntity user = authService.getAuthenticatedUser(authorizationHeader);
+    return ownerInsightsService.getSummaryForOwner(user.getId());
+  }
+
   @GetMapping("/insights/{boardId}/summary")
   public InsightsSummaryResponse getSummary(@PathVariable String boardId) {
     return insightsService.getSummary(boardId);
   }
+
+  // Pushes coalesced counter deltas; clients load the summary once and apply updates on top.
+  @GetMapping(value = "/insights/{boardId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamSummary(@PathVariable String boardId) {
+    return insightsService.openStream(boardId);
+  }
+
+  @GetMapping("/insights/{boardId}/export")
+  public ResponseEntity<StreamingResponseBody> exportEvents(
+      @PathVariable String boardId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "ndjson") String format,
+      @RequestParam(defaultValue = "false") boolean gzip,
+      @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
+    AppUserEntity user = authService.getAuthenticatedUser(authorizationHeader);
+    InsightsExportService.Export export =
+        exportService.prepare(boardId, user, from, to, format, gzip);
+    return ResponseEntity.ok()
+        .contentType(
+            MediaType.parseMediaType(
+                export.gzip() ? "application/gzip" : export.format().contentType()))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(export.fileName()).build().toString())
+        .body(out -> exportService.write(export, out));
+  }
+
+  @GetMapping("/insights/{boardId}/breakdown")
+  public InsightsBreakdownResponse getBreakdown(
+      @PathVariable String boardId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "source") String dimension) {
+    return insightsService.getBreakdown(boardId, from, to, dimension);
+  }
+
+  @GetMapping("/insights/{boardId}/timeseries")
+  public InsightsTimeSeriesResponse getTimeSeries(
+      @PathVariable String boardId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "day") String resolution) {
+    return insightsService.getTimeSeries(boardId, from, to, resolution);
+  }
+
+  // The endpoint is public, so oversized bodies are refused before they are buffered.
+  private static byte[] readEventBatch(HttpServletRequest servletRequest) throws IOException {
+    if (servletRequest.getContentLengthLong() > MAX_EVENT_BATCH_BYTES) {
+      throw new InsightsPayloadTooLargeException(MAX_EVENT_BATCH_BYTES);
+    }
+    byte[] body = servletRequest.getInputStream().readNBytes(MAX_EVENT_BATCH_BYTES + 1);
+    if (body.length > MAX_EVENT_BATCH_BYTES) {
+      throw new InsightsPayloadTooLargeException(MAX_EVENT_BATCH_BYTES);
+    }
+    return body;
+  }
 }
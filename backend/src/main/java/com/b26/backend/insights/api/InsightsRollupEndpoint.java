@@ -0,0 +1,29 @@
+package com.b26.backend.insights.api;
+
+import com.b26.backend.insights.domain.InsightsRollupVerifier;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/** Ops check that the daily rollups agree with raw events; not exposed over HTTP by default. */
+@Component
+@Endpoint(id = "insightsrollups")
+public class InsightsRollupEndpoint {
+  private final InsightsRollupVerifier rollupVerifier;
+
+  public InsightsRollupEndpoint(InsightsRollupVerifier rollupVerifier) {
+    this.rollupVerifier = rollupVerifier;
+  }
+
+  @ReadOperation
+  public RollupVerificationResponse verify(
+      @Selector String boardId, @Nullable String from, @Nullable String to) {
+    LocalDate end = to == null || to.isBlank() ? LocalDate.now(ZoneOffset.UTC) : LocalDate.parse(to);
+    LocalDate start = from == null || from.isBlank() ? end.minusDays(29) : LocalDate.parse(from);
+    return rollupVerifier.verify(boardId, start, end);
+  }
+}
@@ -0,0 +1,39 @@
+package com.b26.backend.insights.api;
+
+import com.b26.backend.insights.domain.InsightsRollupRebuilder;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/** Ops trigger for a background rollup rebuild and its progress; not exposed over HTTP by default. */
+@Component
+@Endpoint(id = "insightsrebuild")
+public class InsightsRollupRebuildEndpoint {
+  private final InsightsRollupRebuilder rollupRebuilder;
+
+  public InsightsRollupRebuildEndpoint(InsightsRollupRebuilder rollupRebuilder) {
+    this.rollupRebuilder = rollupRebuilder;
+  }
+
+  @ReadOperation
+  public RollupRebuildResponse status() {
+    return rollupRebuilder.status();
+  }
+
+  // Reusing the run id of an interrupted rebuild resumes it from its checkpoints. A refused start
+  // (journal backlog) completes at once and is reported instead of the previous run.
+  @WriteOperation
+  public RollupRebuildResponse rebuild(
+      @Nullable String from, @Nullable String to, @Nullable String runId) {
+    CompletableFuture<RollupRebuildResponse> run = rollupRebuilder.start(parse(from), parse(to), runId);
+    return run.isDone() ? run.join() : rollupRebuilder.status();
+  }
+
+  private static LocalDate parse(String value) {
+    return value == null || value.isBlank() ? null : LocalDate.parse(value);
+  }
+}
@@ -0,0 +1,14 @@
+package com.b26.backend.insights.api;
+
+import java.util.List;
+
+/**
+ * Counter increments since the previous update on a board's live stream. {@code topClickedLinks}
+ * is only present when the top cards changed.
+ */
+public record InsightsStreamUpdate(
+    String boardId,
+    long views,
+    long clicks,
+    List<CardInsightsDto> cardClicks,
+    List<CardInsightsDto> topClickedLinks) {}
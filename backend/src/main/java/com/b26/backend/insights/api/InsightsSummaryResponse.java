@@ -8,4 +8,6 @@ public record InsightsSummaryResponse(
     long visitsLast30Days,
     long visitsToday,
     long totalClicks,
-    List<CardInsightsDto> topClickedLinks) {}
+    List<CardInsightsDto> topClickedLinks,
+    long uniqueVisitorsToday,
+    long uniqueVisitorsLast30Days) {}
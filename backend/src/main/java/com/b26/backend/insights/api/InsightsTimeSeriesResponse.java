@@ -0,0 +1,11 @@
+package com.b26.backend.insights.api;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record InsightsTimeSeriesResponse(
+    String boardId,
+    String resolution,
+    LocalDate from,
+    LocalDate to,
+    List<TimeSeriesBucketDto> buckets) {}
@@ -0,0 +1,13 @@
+package com.b26.backend.insights.api;
+
+import java.util.List;
+
+/** Totals across every board of the signed-in owner, plus each board's own summary. */
+public record OwnerInsightsSummaryResponse(
+    long totalVisits,
+    long visitsLast30Days,
+    long visitsToday,
+    long totalClicks,
+    long uniqueVisitorsToday,
+    long uniqueVisitorsLast30Days,
+    List<InsightsSummaryResponse> boards) {}
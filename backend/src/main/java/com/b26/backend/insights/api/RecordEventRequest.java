@@ -0,0 +1,3 @@
+package com.b26.backend.insights.api;
+
+public record RecordEventRequest(String type, String boardId, String cardId, String source) {}
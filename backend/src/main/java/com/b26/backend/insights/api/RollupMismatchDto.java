@@ -0,0 +1,6 @@
+package com.b26.backend.insights.api;
+
+import java.time.LocalDate;
+
+public record RollupMismatchDto(
+    LocalDate day, String metric, String cardId, long rollupCount, long rawCount) {}
@@ -0,0 +1,13 @@
+package com.b26.backend.insights.api;
+
+import java.time.Instant;
+
+public record RollupRebuildResponse(
+    String runId,
+    String state,
+    int totalChunks,
+    int completedChunks,
+    int skippedChunks,
+    int failedChunks,
+    Instant startedAt,
+    Instant finishedAt) {}
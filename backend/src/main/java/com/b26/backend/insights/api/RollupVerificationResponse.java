@@ -0,0 +1,11 @@
+package com.b26.backend.insights.api;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record RollupVerificationResponse(
+    String boardId,
+    LocalDate from,
+    LocalDate to,
+    boolean consistent,
+    List<RollupMismatchDto> mismatches) {}
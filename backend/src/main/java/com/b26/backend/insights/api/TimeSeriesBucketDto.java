@@ -0,0 +1,5 @@
+package com.b26.backend.insights.api;
+
+import java.time.Instant;
+
+public record TimeSeriesBucketDto(Instant start, long views, long clicks) {}
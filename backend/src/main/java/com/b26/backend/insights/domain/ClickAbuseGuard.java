@@ -1,28 +1,223 @@
 package com.b26.backend.insights.domain;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Suppresses repeated clicks from the same ip/board/card within {@link #WINDOW}. Each click is
+ * reduced to a 64-bit key (packed IPv4 address or hashed address, mixed with the board and card
+ * hashes) and stored in lock-striped open-addressing tables, so a check allocates nothing.
+ *
+ * <p>Every stripe keeps two rotating generations, each at most one window long, so anything older
+ * than two windows is released wholesale without a sweep. A generation that reaches its share of
+ * {@code max-entries} rotates early; the entries it pushes out are counted as evictions.
+ */
 @Component
 public class ClickAbuseGuard {
   private static final Duration WINDOW = Duration.ofSeconds(2);
-  private final Map<String, Instant> lastAccepted = new ConcurrentHashMap<>();
+  private static final long WINDOW_NANOS = WINDOW.toNanos();
+  private static final int STRIPES = 64;
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+  private final Counter evictedCounter;
+
+  public ClickAbuseGuard(
+      MeterRegistry meterRegistry,
+      @Value("${app.insights.click-guard.max-entries:100000}") long maxEntries) {
+    int generationCapacity = (int) Math.max(1, Math.min(1 << 24, maxEntries / 2 / STRIPES));
+    long now = System.nanoTime();
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe(generationCapacity, now);
+    }
+
+    Gauge.builder("insights.click.guard.entries", this, ClickAbuseGuard::size)
+        .description("Click suppression entries currently held")
+        .register(meterRegistry);
+    this.evictedCounter =
+        Counter.builder("insights.click.guard.evicted")
+            .description("Click suppression entries dropped early to stay under the cap")
+            .register(meterRegistry);
+  }
 
   public boolean shouldAccept(String ipAddress, String boardId, String cardId) {
-    Instant now = Instant.now();
-    String key = ipAddress + "|" + boardId + "|" + cardId;
-    Instant previous = lastAccepted.get(key);
-    if (previous != null && Duration.between(previous, now).compareTo(WINDOW) < 0) {
-      return false;
+    long key = key(ipAddress, boardId, cardId);
+    Stripe stripe = stripes[(int) (key >>> 58)];
+    long evicted;
+    boolean accepted;
+    synchronized (stripe) {
+      accepted = stripe.tryAccept(key, System.nanoTime());
+      evicted = stripe.takeEvicted();
     }
-    lastAccepted.put(key, now);
-    return true;
+    if (evicted > 0) {
+      evictedCounter.increment(evicted);
+    }
+    return accepted;
   }
 
   public void clear() {
-    lastAccepted.clear();
+    long now = System.nanoTime();
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.reset(now);
+      }
+    }
+  }
+
+  long size() {
+    long size = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.currentSize + stripe.previousSize;
+      }
+    }
+    return size;
+  }
+
+  static long key(String ipAddress, String boardId, String cardId) {
+    long target = ((long) boardId.hashCode() << 32) | (cardId.hashCode() & 0xFFFFFFFFL);
+    long key = mix(mix(packAddress(ipAddress)) ^ target);
+    return key == 0 ? 1 : key;
+  }
+
+  /** Dotted IPv4 packs into the low 32 bits; anything else (IPv6, "unknown") is FNV-1a hashed. */
+  static long packAddress(String address) {
+    long packed = 0;
+    int octet = -1;
+    int octets = 0;
+    for (int i = 0; i < address.length(); i++) {
+      char c = address.charAt(i);
+      if (c >= '0' && c <= '9' && octet < 256) {
+        octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+      } else if (c == '.' && octet >= 0 && octet < 256 && octets < 3) {
+        packed = (packed << 8) | octet;
+        octet = -1;
+        octets++;
+      } else {
+        return hashAddress(address);
+      }
+    }
+    if (octets != 3 || octet < 0 || octet > 255) {
+      return hashAddress(address);
+    }
+    return (packed << 8) | octet;
+  }
+
+  private static long hashAddress(String address) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < address.length(); i++) {
+      hash ^= address.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    // Keep hashed addresses out of the range used by packed IPv4 addresses.
+    return hash | (1L << 63);
+  }
+
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  private static final class Stripe {
+    private final int capacity;
+    private final int mask;
+    private long[] currentKeys;
+    private long[] currentStamps;
+    private long[] previousKeys;
+    private long[] previousStamps;
+    private int currentSize;
+    private int previousSize;
+    private long startedAt;
+    private long evicted;
+
+    Stripe(int capacity, long now) {
+      // Table length at least twice the capacity keeps probe chains short and guarantees a free slot.
+      int length = Integer.highestOneBit(capacity * 2 - 1) << 1;
+      this.capacity = capacity;
+      this.mask = length - 1;
+      this.currentKeys = new long[length];
+      this.currentStamps = new long[length];
+      this.previousKeys = new long[length];
+      this.previousStamps = new long[length];
+      this.startedAt = now;
+    }
+
+    boolean tryAccept(long key, long now) {
+      if (now - startedAt >= WINDOW_NANOS) {
+        rotate(now, now - startedAt >= 2 * WINDOW_NANOS);
+      }
+
+      int slot = find(currentKeys, key);
+      if (currentKeys[slot] == key) {
+        if (now - currentStamps[slot] < WINDOW_NANOS) {
+          return false;
+        }
+        currentStamps[slot] = now;
+        return true;
+      }
+      int previousSlot = find(previousKeys, key);
+      if (previousKeys[previousSlot] == key && now - previousStamps[previousSlot] < WINDOW_NANOS) {
+        return false;
+      }
+
+      if (currentSize >= capacity) {
+        // Forced out while some of its entries may still be inside the window.
+        evicted += previousSize;
+        rotate(now, false);
+        slot = find(currentKeys, key);
+      }
+      currentKeys[slot] = key;
+      currentStamps[slot] = now;
+      currentSize++;
+      return true;
+    }
+
+    long takeEvicted() {
+      long taken = evicted;
+      evicted = 0;
+      return taken;
+    }
+
+    void reset(long now) {
+      Arrays.fill(currentKeys, 0);
+      Arrays.fill(previousKeys, 0);
+      currentSize = 0;
+      previousSize = 0;
+      startedAt = now;
+    }
+
+    private void rotate(long now, boolean dropCurrent) {
+      long[] keys = previousKeys;
+      long[] stamps = previousStamps;
+      if (dropCurrent) {
+        Arrays.fill(currentKeys, 0);
+        previousSize = 0;
+      } else {
+        previousSize = currentSize;
+      }
+      previousKeys = currentKeys;
+      previousStamps = currentStamps;
+      Arrays.fill(keys, 0);
+      currentKeys = keys;
+      currentStamps = stamps;
+      currentSize = 0;
+      startedAt = now;
+    }
+
+    private int find(long[] keys, long key) {
+      int slot = (int) key & mask;
+      while (keys[slot] != 0 && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
   }
 }
@@ -0,0 +1,7 @@
+package com.b26.backend.insights.domain;
+
+public class InsightsAccessDeniedException extends RuntimeException {
+  public InsightsAccessDeniedException() {
+    super("Forbidden");
+  }
+}
@@ -0,0 +1,137 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.insights.persistence.InsightsCompactionStateEntity;
+import com.b26.backend.insights.persistence.InsightsCompactionStateRepository;
+import com.b26.backend.insights.persistence.InsightsEventBatchRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Deletes raw view and click events older than {@code raw-retention-days}. Every raw row is folded
+ * into the daily, hourly and visitor rollups in the same transaction that inserts it, so summaries
+ * are unaffected. The per-board watermark is advanced before deleting and each chunk commits on its
+ * own, which makes an interrupted run safe to repeat.
+ */
+@Service
+public class InsightsCompactionService {
+  private static final Logger log = LoggerFactory.getLogger(InsightsCompactionService.class);
+
+  private final InsightsEventBatchRepository batchRepository;
+  private final InsightsCompactionStateRepository compactionStateRepository;
+  private final boolean enabled;
+  private final int rawRetentionDays;
+  private final int chunkSize;
+  private final long pauseMs;
+
+  public InsightsCompactionService(
+      InsightsEventBatchRepository batchRepository,
+      InsightsCompactionStateRepository compactionStateRepository,
+      @Value("${app.insights.compaction.enabled:false}") boolean enabled,
+      @Value("${app.insights.compaction.raw-retention-days:90}") int rawRetentionDays,
+      @Value("${app.insights.compaction.chunk-size:1000}") int chunkSize,
+      @Value("${app.insights.compaction.pause-ms:50}") long pauseMs) {
+    this.batchRepository = batchRepository;
+    this.compactionStateRepository = compactionStateRepository;
+    this.enabled = enabled;
+    this.rawRetentionDays = Math.max(1, rawRetentionDays);
+    this.chunkSize = Math.max(1, chunkSize);
+    this.pauseMs = Math.max(0, pauseMs);
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.insights.compaction.interval-ms:3600000}",
+      fixedDelayString = "${app.insights.compaction.interval-ms:3600000}")
+  public void compactOnSchedule() {
+    if (enabled) {
+      compact();
+    }
+  }
+
+  public long compact() {
+    Instant cutoff =
+        LocalDate.now(ZoneOffset.UTC)
+            .minusDays(rawRetentionDays)
+            .atStartOfDay()
+            .toInstant(ZoneOffset.UTC);
+    long deleted = 0;
+    for (String boardId : batchRepository.findBoardsWithEventsBefore(cutoff)) {
+      advanceWatermark(boardId, cutoff);
+      deleted += deleteInChunks(boardId, cutoff);
+      if (Thread.currentThread().isInterrupted()) {
+        break;
+      }
+    }
+    if (deleted > 0) {
+      log.info("Compacted {} raw insight events older than {}", deleted, cutoff);
+    }
+    return deleted;
+  }
+
+  public Optional<Instant> compactedBefore(String boardId) {
+    return compactionStateRepository
+        .findById(boardId)
+        .map(InsightsCompactionStateEntity::getCompactedBefore);
+  }
+
+  /**
+   * First UTC day of the board whose raw events are all still stored and will not be compacted
+   * before tomorrow; empty when every day qualifies.
+   */
+  public Optional<LocalDate> firstCompleteRawDay(String boardId) {
+    Optional<LocalDate> watermark =
+        compactedBefore(boardId).map(InsightsEventWriter::toUtcDate);
+    if (!enabled) {
+      return watermark;
+    }
+    LocalDate retainedFrom = LocalDate.now(ZoneOffset.UTC).minusDays(rawRetentionDays - 1L);
+    return Optional.of(
+        watermark.filter(retainedFrom::isBefore).orElse(retainedFrom));
+  }
+
+  private void advanceWatermark(String boardId, Instant cutoff) {
+    InsightsCompactionStateEntity state =
+        compactionStateRepository.findById(boardId).orElseGet(InsightsCompactionStateEntity::new);
+    if (state.getCompactedBefore() != null && !state.getCompactedBefore().isBefore(cutoff)) {
+      return;
+    }
+    state.setBoardId(boardId);
+    state.setCompactedBefore(cutoff);
+    state.setUpdatedAt(Instant.now());
+    compactionStateRepository.save(state);
+  }
+
+  private long deleteInChunks(String boardId, Instant cutoff) {
+    long deleted = 0;
+    int views;
+    int clicks;
+    do {
+      views = batchRepository.deleteViewEventsBefore(boardId, cutoff, chunkSize);
+      clicks = batchRepository.deleteClickEventsBefore(boardId, cutoff, chunkSize);
+      deleted += views + clicks;
+      if ((views == chunkSize || clicks == chunkSize) && !pause()) {
+        break;
+      }
+    } while (views == chunkSize || clicks == chunkSize);
+    return deleted;
+  }
+
+  private boolean pause() {
+    if (pauseMs == 0) {
+      return true;
+    }
+    try {
+      Thread.sleep(pauseMs);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
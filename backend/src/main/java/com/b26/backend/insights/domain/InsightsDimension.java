@@ -0,0 +1,22 @@
+package com.b26.backend.insights.domain;
+
+import java.util.Locale;
+
+public enum InsightsDimension {
+  SOURCE,
+  DEVICE;
+
+  public static InsightsDimension parse(String value) {
+    String normalized = value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    for (InsightsDimension dimension : values()) {
+      if (dimension.name().equals(normalized)) {
+        return dimension;
+      }
+    }
+    throw new InvalidInsightsQueryException("dimension must be one of source, device");
+  }
+
+  public String value() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,27 @@
+package com.b26.backend.insights.domain;
+
+import java.time.Instant;
+
+public sealed interface InsightsEvent permits InsightsEvent.View, InsightsEvent.Click {
+  String boardId();
+
+  Instant occurredAt();
+
+  /** {@code weight} is the number of views this one stands for when it was kept by sampling. */
+  record View(
+      String boardId,
+      Instant occurredAt,
+      String sourceIp,
+      String source,
+      String deviceType,
+      int weight)
+      implements InsightsEvent {
+    public View(
+        String boardId, Instant occurredAt, String sourceIp, String source, String deviceType) {
+      this(boardId, occurredAt, sourceIp, source, deviceType, 1);
+    }
+  }
+
+  record Click(String boardId, String cardId, Instant occurredAt, String sourceIp)
+      implements InsightsEvent {}
+}
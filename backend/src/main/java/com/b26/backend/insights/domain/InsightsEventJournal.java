@@ -0,0 +1,529 @@
+package com.b26.backend.insights.domain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional local journal in front of {@link InsightsEventWriter}. Accepted events are appended to
+ * fixed-size memory-mapped segment files and acknowledged without touching the database; a sync
+ * thread forces dirty pages to disk every {@code sync-interval-ms}, and a replayer writes the
+ * journal into the database in batches, saving a checkpoint after every committed batch.
+ *
+ * <p>Delivery is at-least-once: a crash between a batch commit and its checkpoint replays that
+ * batch on restart. Events appended within the last sync interval survive a process crash, since
+ * their pages are already in the OS cache, but not a power loss.
+ */
+@Component
+public class InsightsEventJournal implements SmartLifecycle {
+  private static final Logger log = LoggerFactory.getLogger(InsightsEventJournal.class);
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String CHECKPOINT_FILE = "checkpoint";
+  private static final int MIN_SEGMENT_BYTES = 64 * 1024;
+  // Record layout: payload length, CRC32 of the payload, payload. A zero length marks the end.
+  private static final int HEADER_BYTES = 8;
+  private static final byte VIEW = 1;
+  private static final byte CLICK = 2;
+  // Views carrying a sampling weight; unweighted VIEW records from older segments still decode.
+  private static final byte WEIGHTED_VIEW = 3;
+
+  private final InsightsEventWriter writer;
+  private final boolean enabled;
+  private final Path directory;
+  private final int segmentBytes;
+  private final Duration syncInterval;
+  private final Duration retryDelay;
+  private final int replayBatchSize;
+  private final Object appendLock = new Object();
+  private final AtomicBoolean dirty = new AtomicBoolean();
+  private final Counter appendedCounter;
+  private final Counter replayedCounter;
+  private final Counter skippedCounter;
+
+  private volatile Segment active;
+  private volatile boolean running;
+  private Thread syncThread;
+  private Thread replayThread;
+
+  // Replay state, only touched by the replay thread (and by start/stop around it).
+  private volatile long cursorSegment;
+  private volatile int cursorOffset;
+  private long readSegment = -1;
+  private ByteBuffer readView;
+
+  public InsightsEventJournal(
+      InsightsEventWriter writer,
+      MeterRegistry meterRegistry,
+      @Value("${app.insights.journal.enabled:false}") boolean enabled,
+      @Value("${app.insights.journal.directory:insights-journal}") String directory,
+      @Value("${app.insights.journal.segment-bytes:16777216}") int segmentBytes,
+      @Value("${app.insights.journal.sync-interval-ms:50}") long syncIntervalMs,
+      @Value("${app.insights.journal.retry-delay-ms:1000}") long retryDelayMs,
+      @Value("${app.insights.journal.replay-batch-size:500}") int replayBatchSize) {
+    this.writer = writer;
+    this.enabled = enabled;
+    this.directory = Path.of(directory);
+    this.segmentBytes = Math.max(MIN_SEGMENT_BYTES, segmentBytes);
+    this.syncInterval = Duration.ofMillis(Math.max(1, syncIntervalMs));
+    this.retryDelay = Duration.ofMillis(Math.max(10, retryDelayMs));
+    this.replayBatchSize = Math.max(1, replayBatchSize);
+
+    this.appendedCounter =
+        Counter.builder("insights.journal.appended")
+            .description("Insight events appended to the local journal")
+            .register(meterRegistry);
+    this.replayedCounter =
+        Counter.builder("insights.journal.replayed")
+            .description("Journaled insight events written to the database")
+            .register(meterRegistry);
+    this.skippedCounter =
+        Counter.builder("insights.journal.skipped")
+            .description("Journaled insight events dropped because the database refused them")
+            .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** True while acknowledged events are still waiting to be replayed into the database. */
+  public boolean hasBacklog() {
+    Segment current = active;
+    return running
+        && current != null
+        && (cursorSegment < current.index || cursorOffset < current.position);
+  }
+
+  /**
+   * Appends the events as one unit. Returns false when the journal is not running or the append
+   * failed, in which case the caller should fall back to writing the events itself.
+   */
+  public boolean append(List<InsightsEvent> events) {
+    if (!running || events.isEmpty()) {
+      return false;
+    }
+    List<byte[]> records = new ArrayList<>(events.size());
+    int totalBytes = 0;
+    try {
+      for (InsightsEvent event : events) {
+        byte[] payload = encode(event);
+        records.add(payload);
+        totalBytes += HEADER_BYTES + payload.length;
+      }
+    } catch (RuntimeException exception) {
+      // e.g. a field past writeUTF's 64 KiB limit; the caller's fallback path handles the events.
+      log.warn("Could not encode {} insight events for the journal", events.size(), exception);
+      return false;
+    }
+    if (totalBytes > segmentBytes - HEADER_BYTES) {
+      return false;
+    }
+
+    synchronized (appendLock) {
+      try {
+        Segment segment = active;
+        if (segment == null) {
+          return false;
+        }
+        if (segment.position + totalBytes > segmentBytes - HEADER_BYTES) {
+          segment = roll(segment);
+        }
+        int position = segment.position;
+        CRC32 crc = new CRC32();
+        for (byte[] payload : records) {
+          crc.reset();
+          crc.update(payload);
+          segment.buffer.putInt(position, payload.length);
+          segment.buffer.putInt(position + 4, (int) crc.getValue());
+          segment.buffer.put(position + HEADER_BYTES, payload);
+          position += HEADER_BYTES + payload.length;
+        }
+        // Publishing the position is what makes the records visible to the replayer.
+        segment.position = position;
+      } catch (IOException | RuntimeException exception) {
+        log.warn("Could not append {} insight events to the journal", events.size(), exception);
+        return false;
+      }
+    }
+    dirty.set(true);
+    appendedCounter.increment(events.size());
+    return true;
+  }
+
+  @Override
+  public void start() {
+    if (!enabled || running) {
+      return;
+    }
+    try {
+      Files.createDirectories(directory);
+      List<Long> segments = listSegments();
+      readCheckpoint(segments.isEmpty() ? 0 : segments.get(0));
+      long last = segments.isEmpty() ? cursorSegment : segments.get(segments.size() - 1);
+      // Always append to a fresh segment so a torn tail from a crash is never written after.
+      active = openSegment(Math.max(last, cursorSegment) + 1);
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Could not open insights journal in " + directory, exception);
+    }
+
+    running = true;
+    syncThread = startThread(this::syncLoop, "insights-journal-sync");
+    replayThread = startThread(this::replayLoop, "insights-journal-replay");
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    join(replayThread);
+    join(syncThread);
+    replayThread = null;
+    syncThread = null;
+    synchronized (appendLock) {
+      Segment segment = active;
+      if (segment != null) {
+        segment.buffer.force();
+        closeQuietly(segment.channel);
+        active = null;
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    // Same window as the ingestion buffer: open before the web server, close after it.
+    return DEFAULT_PHASE - 4096;
+  }
+
+  private void syncLoop() {
+    while (running) {
+      LockSupport.parkNanos(this, syncInterval.toNanos());
+      if (dirty.getAndSet(false)) {
+        Segment segment = active;
+        if (segment != null) {
+          segment.buffer.force();
+        }
+      }
+    }
+  }
+
+  private void replayLoop() {
+    while (running) {
+      int progressed;
+      try {
+        progressed = replayOnce();
+      } catch (DataIntegrityViolationException exception) {
+        // Not going to succeed as a batch (e.g. the board was deleted); replay it event by event
+        // and step past only the events the database still refuses.
+        log.warn("Journaled insight batch refused; replaying it one event at a time", exception);
+        progressed = replayEach();
+      } catch (IOException | RuntimeException exception) {
+        log.warn("Insights journal replay failed; retrying in {}", retryDelay, exception);
+        LockSupport.parkNanos(this, retryDelay.toNanos());
+        continue;
+      }
+      if (progressed == 0) {
+        LockSupport.parkNanos(this, syncInterval.toNanos());
+      }
+    }
+  }
+
+  /** Writes the next batch after the checkpoint; returns 0 when there is nothing to replay. */
+  private int replayOnce() throws IOException {
+    Batch batch = readBatch();
+    if (batch == null) {
+      return 0;
+    }
+    if (batch.events.isEmpty()) {
+      return advanceSegment() ? 1 : 0;
+    }
+    writer.write(batch.events);
+    replayedCounter.increment(batch.events.size());
+    cursorOffset = batch.endOffset;
+    writeCheckpoint();
+    return batch.events.size();
+  }
+
+  private int replayEach() {
+    try {
+      Batch batch = readBatch();
+      if (batch != null && !batch.events.isEmpty()) {
+        int refused = writer.writeEach(batch.events);
+        replayedCounter.increment(batch.events.size() - refused);
+        skippedCounter.increment(refused);
+        cursorOffset = batch.endOffset;
+        writeCheckpoint();
+        return batch.events.size();
+      }
+    } catch (IOException | RuntimeException exception) {
+      log.warn("Could not step past refused journal batch", exception);
+    }
+    return 0;
+  }
+
+  /**
+   * Decodes up to one batch from the checkpoint. An empty batch means the cursor segment is
+   * exhausted and sealed; null means the replayer has caught up with the active segment.
+   */
+  private Batch readBatch() throws IOException {
+    Segment current = active;
+    if (current == null) {
+      return null;
+    }
+    boolean sealed = cursorSegment < current.index;
+    ByteBuffer view = viewFor(cursorSegment, current);
+    if (view == null) {
+      return sealed ? new Batch(List.of(), cursorOffset) : null;
+    }
+    int limit = sealed ? view.capacity() : current.position;
+
+    List<InsightsEvent> events = new ArrayList<>();
+    int offset = cursorOffset;
+    CRC32 crc = new CRC32();
+    while (events.size() < replayBatchSize && offset + HEADER_BYTES <= limit) {
+      int length = view.getInt(offset);
+      if (length <= 0 || offset + HEADER_BYTES + length > limit) {
+        break;
+      }
+      byte[] payload = new byte[length];
+      view.get(offset + HEADER_BYTES, payload);
+      crc.reset();
+      crc.update(payload);
+      if ((int) crc.getValue() != view.getInt(offset + 4)) {
+        // Torn write from a crash; nothing after it in this segment was acknowledged durably.
+        break;
+      }
+      events.add(decode(payload));
+      offset += HEADER_BYTES + length;
+    }
+    if (events.isEmpty() && !sealed) {
+      return null;
+    }
+    return new Batch(events, offset);
+  }
+
+  private boolean advanceSegment() throws IOException {
+    long finished = cursorSegment;
+    long next = finished + 1;
+    for (long index : listSegments()) {
+      if (index > finished) {
+        next = index;
+        break;
+      }
+    }
+    cursorSegment = next;
+    cursorOffset = 0;
+    readSegment = -1;
+    readView = null;
+    writeCheckpoint();
+    Files.deleteIfExists(segmentPath(finished));
+    return true;
+  }
+
+  private ByteBuffer viewFor(long index, Segment current) throws IOException {
+    if (readSegment == index && readView != null) {
+      return readView;
+    }
+    ByteBuffer view;
+    if (index == current.index) {
+      view = current.buffer.duplicate();
+    } else {
+      try (FileChannel channel = FileChannel.open(segmentPath(index), StandardOpenOption.READ)) {
+        view = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      } catch (NoSuchFileException exception) {
+        return null;
+      }
+    }
+    readSegment = index;
+    readView = view;
+    return view;
+  }
+
+  private Segment roll(Segment segment) throws IOException {
+    segment.buffer.force();
+    closeQuietly(segment.channel);
+    Segment next = openSegment(segment.index + 1);
+    active = next;
+    return next;
+  }
+
+  private Segment openSegment(long index) throws IOException {
+    FileChannel channel =
+        FileChannel.open(
+            segmentPath(index),
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    return new Segment(index, channel, buffer);
+  }
+
+  private List<Long> listSegments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(path -> path.getFileName().toString())
+          .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+          .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+          .sorted()
+          .toList();
+    }
+  }
+
+  private Path segmentPath(long index) {
+    return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+  }
+
+  private void readCheckpoint(long firstSegment) throws IOException {
+    Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+    cursorSegment = firstSegment;
+    cursorOffset = 0;
+    if (Files.exists(checkpoint)) {
+      String[] parts = Files.readString(checkpoint, StandardCharsets.UTF_8).trim().split(" ");
+      cursorSegment = Long.parseLong(parts[0]);
+      cursorOffset = Integer.parseInt(parts[1]);
+    }
+  }
+
+  private void writeCheckpoint() throws IOException {
+    Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+    Files.writeString(temporary, cursorSegment + " " + cursorOffset, StandardCharsets.UTF_8);
+    Files.move(
+        temporary,
+        directory.resolve(CHECKPOINT_FILE),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  static byte[] encode(InsightsEvent event) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      if (event instanceof InsightsEvent.View view) {
+        out.writeByte(WEIGHTED_VIEW);
+        writeInstant(out, view.occurredAt());
+        out.writeUTF(view.boardId());
+        writeNullable(out, view.sourceIp());
+        out.writeUTF(view.source());
+        out.writeUTF(view.deviceType());
+        out.writeShort(view.weight());
+      } else if (event instanceof InsightsEvent.Click click) {
+        out.writeByte(CLICK);
+        writeInstant(out, click.occurredAt());
+        out.writeUTF(click.boardId());
+        out.writeUTF(click.cardId());
+        writeNullable(out, click.sourceIp());
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+    return bytes.toByteArray();
+  }
+
+  static InsightsEvent decode(byte[] payload) throws IOException {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+      byte type = in.readByte();
+      Instant occurredAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+      String boardId = in.readUTF();
+      if (type == VIEW || type == WEIGHTED_VIEW) {
+        String sourceIp = readNullable(in);
+        String source = in.readUTF();
+        String deviceType = in.readUTF();
+        int weight = type == WEIGHTED_VIEW ? in.readShort() : 1;
+        return new InsightsEvent.View(boardId, occurredAt, sourceIp, source, deviceType, weight);
+      }
+      if (type == CLICK) {
+        return new InsightsEvent.Click(boardId, in.readUTF(), occurredAt, readNullable(in));
+      }
+      throw new IOException("Unknown journal record type " + type);
+    }
+  }
+
+  private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+    out.writeLong(instant.getEpochSecond());
+    out.writeInt(instant.getNano());
+  }
+
+  private static void writeNullable(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readNullable(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static Thread startThread(Runnable loop, String name) {
+    Thread thread = new Thread(loop, name);
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  private static void join(Thread thread) {
+    if (thread == null) {
+      return;
+    }
+    LockSupport.unpark(thread);
+    try {
+      thread.join(5000);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException exception) {
+      log.debug("Could not close journal segment", exception);
+    }
+  }
+
+  private static final class Segment {
+    private final long index;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private volatile int position;
+
+    Segment(long index, FileChannel channel, MappedByteBuffer buffer) {
+      this.index = index;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+  }
+
+  private record Batch(List<InsightsEvent> events, int endOffset) {}
+}
@@ -0,0 +1,295 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.insights.persistence.ClickEventEntity;
+import com.b26.backend.insights.persistence.InsightsEventBatchRepository;
+import com.b26.backend.insights.persistence.InsightsEventBatchRepository.BoardDayDelta;
+import com.b26.backend.insights.persistence.InsightsEventBatchRepository.BoardHourDelta;
+import com.b26.backend.insights.persistence.InsightsEventBatchRepository.CardDayDelta;
+import com.b26.backend.insights.persistence.InsightsEventBatchRepository.DimensionDayDelta;
+import com.b26.backend.insights.persistence.InsightsEventDictionary;
+import com.b26.backend.insights.persistence.ViewEventEntity;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class InsightsEventWriter {
+  private static final long LATENCY_HALF_LIFE_NANOS = 1_000_000_000L;
+
+  private final InsightsEventBatchRepository batchRepository;
+  private final InsightsEventDictionary dictionary;
+  private final TopClickedCardsTracker topClickedCardsTracker;
+  private final InsightsLiveStream liveStream;
+  private final InsightsReadCache readCache;
+  private final TransactionTemplate transactionTemplate;
+
+  private volatile long recentWriteNanos;
+  private volatile long lastWriteAt = System.nanoTime();
+
+  public InsightsEventWriter(
+      InsightsEventBatchRepository batchRepository,
+      InsightsEventDictionary dictionary,
+      TopClickedCardsTracker topClickedCardsTracker,
+      InsightsLiveStream liveStream,
+      InsightsReadCache readCache,
+      PlatformTransactionManager transactionManager) {
+    this.batchRepository = batchRepository;
+    this.dictionary = dictionary;
+    this.topClickedCardsTracker = topClickedCardsTracker;
+    this.liveStream = liveStream;
+    this.readCache = readCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Writes the batch in one transaction. Dictionary keys are resolved first, each in its own short
+   * transaction, so the batch never holds one pooled connection while waiting for a second.
+   */
+  public void write(List<InsightsEvent> events) {
+    List<ViewEventEntity> views = new ArrayList<>();
+    List<ClickEventEntity> clicks = new ArrayList<>();
+    // Sorted so concurrent writers always lock rollup rows in the same order.
+    Map<BoardDayKey, Long> viewsByDay = new TreeMap<>(BoardDayKey.ORDER);
+    Map<DimensionDayKey, Long> viewsBySource = new TreeMap<>(DimensionDayKey.ORDER);
+    Map<DimensionDayKey, Long> viewsByDevice = new TreeMap<>(DimensionDayKey.ORDER);
+    Map<CardDayKey, Long> clicksByDay = new TreeMap<>(CardDayKey.ORDER);
+    Map<BoardHourKey, long[]> activityByHour = new TreeMap<>(BoardHourKey.ORDER);
+    Map<BoardDayKey, HyperLogLog> visitorsByDay = new TreeMap<>(BoardDayKey.ORDER);
+    for (InsightsEvent event : events) {
+      LocalDate activityDate = toUtcDate(event.occurredAt());
+      long[] hourly =
+          activityByHour.computeIfAbsent(
+              new BoardHourKey(event.boardId(), event.occurredAt().truncatedTo(ChronoUnit.HOURS)),
+              key -> new long[2]);
+      if (event instanceof InsightsEvent.View view) {
+        ViewEventEntity entity = toEntity(view);
+        views.add(entity);
+        BoardDayKey dayKey = new BoardDayKey(view.boardId(), activityDate);
+        viewsByDay.merge(dayKey, (long) view.weight(), Long::sum);
+        viewsBySource.merge(
+            new DimensionDayKey(view.boardId(), activityDate, entity.getSourceCode()),
+            (long) view.weight(),
+            Long::sum);
+        viewsByDevice.merge(
+            new DimensionDayKey(view.boardId(), activityDate, entity.getDeviceCode()),
+            (long) view.weight(),
+            Long::sum);
+        // The stored address in canonical text, as the rollup rebuild hashes it.
+        visitorsByDay
+            .computeIfAbsent(dayKey, key -> new HyperLogLog())
+            .add(SourceAddresses.toText(entity.getSourceIp()));
+        hourly[0] += view.weight();
+      } else if (event instanceof InsightsEvent.Click click) {
+        clicks.add(toEntity(click));
+        clicksByDay.merge(
+            new CardDayKey(click.boardId(), click.cardId(), activityDate), 1L, Long::sum);
+        hourly[1]++;
+      }
+    }
+
+    long startedAt = System.nanoTime();
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            batchRepository.insertViewEvents(views);
+            batchRepository.insertClickEvents(clicks);
+            batchRepository.incrementBoardViewDaily(
+                viewsByDay.entrySet().stream()
+                    .map(
+                        entry ->
+                            new BoardDayDelta(
+                                entry.getKey().boardId(),
+                                entry.getKey().activityDate(),
+                                entry.getValue()))
+                    .toList());
+            batchRepository.incrementBoardViewSourceDaily(toDimensionDeltas(viewsBySource));
+            batchRepository.incrementBoardViewDeviceDaily(toDimensionDeltas(viewsByDevice));
+            batchRepository.incrementCardClickDaily(
+                clicksByDay.entrySet().stream()
+                    .map(
+                        entry ->
+                            new CardDayDelta(
+                                entry.getKey().boardId(),
+                                entry.getKey().cardId(),
+                                entry.getKey().activityDate(),
+                                entry.getValue()))
+                    .toList());
+            batchRepository.incrementBoardActivityHourly(
+                activityByHour.entrySet().stream()
+                    .map(
+                        entry ->
+                            new BoardHourDelta(
+                                entry.getKey().boardId(),
+                                entry.getKey().bucketStart(),
+                                entry.getValue()[0],
+                                entry.getValue()[1]))
+                    .toList());
+            byte[] emptySketch = new HyperLogLog().toBytes();
+            visitorsByDay.forEach(
+                (key, batchSketch) ->
+                    batchRepository.mergeVisitorSketch(
+                        key.boardId(),
+                        key.activityDate(),
+                        emptySketch,
+                        stored -> {
+                          HyperLogLog merged = HyperLogLog.fromBytes(stored);
+                          merged.merge(batchSketch);
+                          return merged.toBytes();
+                        }));
+            afterCommit(
+                () -> {
+                  recordTopCards(clicksByDay);
+                  publishBoardUpdates(viewsByDay, clicksByDay);
+                });
+          });
+    } finally {
+      recordWriteNanos(System.nanoTime() - startedAt);
+    }
+  }
+
+  /**
+   * Fallback after a failed batch write: writes each event in its own transaction so a row the
+   * database refuses only loses itself. Returns how many events still could not be written.
+   */
+  public int writeEach(List<InsightsEvent> events) {
+    int failed = 0;
+    for (InsightsEvent event : events) {
+      try {
+        write(List.of(event));
+      } catch (RuntimeException exception) {
+        failed++;
+      }
+    }
+    return failed;
+  }
+
+  /**
+   * Exponentially weighted average of recent batch write latency, from every caller including
+   * journal replay. It halves for each {@link #LATENCY_HALF_LIFE_NANOS} without a write, so a slow
+   * burst followed by silence does not keep the view sampler shedding.
+   */
+  public long getRecentWriteNanos() {
+    long idleHalfLives = (System.nanoTime() - lastWriteAt) / LATENCY_HALF_LIFE_NANOS;
+    return idleHalfLives >= 63 ? 0 : recentWriteNanos >> idleHalfLives;
+  }
+
+  private synchronized void recordWriteNanos(long elapsed) {
+    long current = getRecentWriteNanos();
+    recentWriteNanos = current - (current >> 2) + (elapsed >> 2);
+    lastWriteAt = System.nanoTime();
+  }
+
+  private void recordTopCards(Map<CardDayKey, Long> clicksByDay) {
+    clicksByDay.forEach(
+        (key, count) -> topClickedCardsTracker.recordClicks(key.boardId(), key.cardId(), count));
+  }
+
+  private void publishBoardUpdates(
+      Map<BoardDayKey, Long> viewsByDay, Map<CardDayKey, Long> clicksByDay) {
+    Map<String, Long> viewsByBoard = new HashMap<>();
+    viewsByDay.forEach((key, count) -> viewsByBoard.merge(key.boardId(), count, Long::sum));
+    Map<String, Map<String, Long>> clicksByBoard = new HashMap<>();
+    clicksByDay.forEach(
+        (key, count) ->
+            clicksByBoard
+                .computeIfAbsent(key.boardId(), boardId -> new HashMap<>())
+                .merge(key.cardId(), count, Long::sum));
+
+    Set<String> boardIds = new HashSet<>(viewsByBoard.keySet());
+    boardIds.addAll(clicksByBoard.keySet());
+    for (String boardId : boardIds) {
+      readCache.invalidate(boardId);
+      liveStream.record(
+          boardId,
+          viewsByBoard.getOrDefault(boardId, 0L),
+          clicksByBoard.getOrDefault(boardId, Map.of()));
+    }
+  }
+
+  private static List<DimensionDayDelta> toDimensionDeltas(Map<DimensionDayKey, Long> counts) {
+    return counts.entrySet().stream()
+        .map(
+            entry ->
+                new DimensionDayDelta(
+                    entry.getKey().boardId(),
+                    entry.getKey().activityDate(),
+                    entry.getKey().code(),
+                    entry.getValue()))
+        .toList();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  static LocalDate toUtcDate(Instant instant) {
+    return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+  }
+
+  private ViewEventEntity toEntity(InsightsEvent.View view) {
+    ViewEventEntity entity = new ViewEventEntity();
+    entity.setBoardKey(dictionary.boardKey(view.boardId()));
+    entity.setOccurredAt(view.occurredAt());
+    entity.setSourceIp(SourceAddresses.toBytes(view.sourceIp()));
+    entity.setSourceCode(dictionary.sourceCode(view.source()));
+    entity.setDeviceCode(dictionary.deviceCode(view.deviceType()));
+    entity.setWeight((short) view.weight());
+    return entity;
+  }
+
+  private ClickEventEntity toEntity(InsightsEvent.Click click) {
+    ClickEventEntity entity = new ClickEventEntity();
+    entity.setCardKey(dictionary.cardKey(click.boardId(), click.cardId()));
+    entity.setOccurredAt(click.occurredAt());
+    entity.setSourceIp(SourceAddresses.toBytes(click.sourceIp()));
+    return entity;
+  }
+
+  private record BoardDayKey(String boardId, LocalDate activityDate) {
+    static final Comparator<BoardDayKey> ORDER =
+        Comparator.comparing(BoardDayKey::boardId).thenComparing(BoardDayKey::activityDate);
+  }
+
+  private record DimensionDayKey(String boardId, LocalDate activityDate, short code) {
+    static final Comparator<DimensionDayKey> ORDER =
+        Comparator.comparing(DimensionDayKey::boardId)
+            .thenComparing(DimensionDayKey::activityDate)
+            .thenComparingInt(DimensionDayKey::code);
+  }
+
+  private record CardDayKey(String boardId, String cardId, LocalDate activityDate) {
+    static final Comparator<CardDayKey> ORDER =
+        Comparator.comparing(CardDayKey::boardId)
+            .thenComparing(CardDayKey::cardId)
+            .thenComparing(CardDayKey::activityDate);
+  }
+
+  private record BoardHourKey(String boardId, Instant bucketStart) {
+    static final Comparator<BoardHourKey> ORDER =
+        Comparator.comparing(BoardHourKey::boardId).thenComparing(BoardHourKey::bucketStart);
+  }
+}
@@ -0,0 +1,210 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.board.domain.BoardNotFoundException;
+import com.b26.backend.board.persistence.BoardEntity;
+import com.b26.backend.board.persistence.BoardRepository;
+import com.b26.backend.insights.persistence.InsightsEventExportRepository;
+import com.b26.backend.insights.persistence.InsightsEventExportRepository.ExportedEvent;
+import com.b26.backend.user.persistence.AppUserEntity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams a board's raw view and click events as NDJSON or CSV. Rows go from a JDBC cursor through
+ * a fixed-size buffer to the response, so memory use does not depend on the size of the export.
+ */
+@Service
+public class InsightsExportService {
+  private static final int MAX_EXPORT_DAYS = 366;
+  private static final int BUFFER_BYTES = 64 * 1024;
+  private static final String CSV_HEADER =
+      "type,occurred_at,card_id,source,device_type,source_ip,weight";
+
+  public enum Format {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    Format(String contentType, String extension) {
+      this.contentType = contentType;
+      this.extension = extension;
+    }
+
+    public String contentType() {
+      return contentType;
+    }
+
+    public String extension() {
+      return extension;
+    }
+  }
+
+  public record Export(String boardId, LocalDate from, LocalDate to, Format format, boolean gzip) {
+    public String fileName() {
+      return boardId + "-events-" + from + "-" + to + "." + format.extension() + (gzip ? ".gz" : "");
+    }
+  }
+
+  private final BoardRepository boardRepository;
+  private final InsightsEventExportRepository exportRepository;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate readOnlyTransaction;
+
+  public InsightsExportService(
+      BoardRepository boardRepository,
+      InsightsEventExportRepository exportRepository,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager) {
+    this.boardRepository = boardRepository;
+    this.exportRepository = exportRepository;
+    this.objectMapper = objectMapper;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /** Checks access and parameters up front, before any of the response has been committed. */
+  public Export prepare(
+      String boardId,
+      AppUserEntity user,
+      LocalDate from,
+      LocalDate to,
+      String format,
+      boolean gzip) {
+    BoardEntity board =
+        boardRepository.findById(boardId).orElseThrow(() -> new BoardNotFoundException(boardId));
+    boolean admin = user.getRole() != null && "ADMIN".equalsIgnoreCase(user.getRole().trim());
+    if (!admin && !user.getId().equals(board.getOwnerUserId())) {
+      throw new InsightsAccessDeniedException();
+    }
+
+    LocalDate end = to == null ? LocalDate.now(ZoneOffset.UTC) : to;
+    LocalDate start = from == null ? end.minusDays(29) : from;
+    if (end.isBefore(start)) {
+      throw new InvalidInsightsQueryException("from must not be after to");
+    }
+    if (ChronoUnit.DAYS.between(start, end) + 1 > MAX_EXPORT_DAYS) {
+      throw new InvalidInsightsQueryException(
+          "at most " + MAX_EXPORT_DAYS + " days can be exported at once");
+    }
+    Format parsed;
+    try {
+      parsed = Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException exception) {
+      throw new InvalidInsightsQueryException("format must be one of: ndjson, csv");
+    }
+    return new Export(boardId, start, end, parsed, gzip);
+  }
+
+  public void write(Export export, OutputStream target) throws IOException {
+    OutputStream out = export.gzip() ? new GZIPOutputStream(target, BUFFER_BYTES) : target;
+    Writer writer =
+        new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_BYTES);
+    Instant from = export.from().atStartOfDay().toInstant(ZoneOffset.UTC);
+    Instant to = export.to().plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    try {
+      if (export.format() == Format.CSV) {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        streamEvents(export.boardId(), from, to, event -> writeCsv(writer, event));
+        writer.flush();
+      } else {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        streamEvents(export.boardId(), from, to, event -> writeJson(json, event));
+        json.flush();
+      }
+    } catch (UncheckedIOException exception) {
+      throw exception.getCause();
+    }
+    if (out instanceof GZIPOutputStream gzip) {
+      gzip.finish();
+    }
+    out.flush();
+  }
+
+  private void streamEvents(
+      String boardId, Instant from, Instant to, Consumer<ExportedEvent> consumer) {
+    readOnlyTransaction.executeWithoutResult(
+        status -> {
+          exportRepository.forEachViewEvent(boardId, from, to, consumer);
+          exportRepository.forEachClickEvent(boardId, from, to, consumer);
+        });
+  }
+
+  private static void writeJson(JsonGenerator json, ExportedEvent event) {
+    try {
+      json.writeStartObject();
+      json.writeStringField("type", event.type());
+      json.writeStringField("occurredAt", event.occurredAt().toString());
+      if (event.cardId() != null) {
+        json.writeStringField("cardId", event.cardId());
+      }
+      if (event.source() != null) {
+        json.writeStringField("source", event.source());
+        json.writeStringField("deviceType", event.deviceType());
+      }
+      json.writeStringField("sourceIp", SourceAddresses.toText(event.sourceIp()));
+      json.writeNumberField("weight", event.weight());
+      json.writeEndObject();
+      json.writeRaw('\n');
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private static void writeCsv(Writer writer, ExportedEvent event) {
+    try {
+      writer.write(event.type());
+      writer.write(',');
+      writer.write(event.occurredAt().toString());
+      writer.write(',');
+      writeCsvField(writer, event.cardId());
+      writer.write(',');
+      writeCsvField(writer, event.source());
+      writer.write(',');
+      writeCsvField(writer, event.deviceType());
+      writer.write(',');
+      writer.write(SourceAddresses.toText(event.sourceIp()));
+      writer.write(',');
+      writer.write(Integer.toString(event.weight()));
+      writer.write('\n');
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private static void writeCsvField(Writer writer, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (value.indexOf(',') < 0
+        && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
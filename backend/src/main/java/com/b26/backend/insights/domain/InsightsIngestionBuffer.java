@@ -0,0 +1,260 @@
+package com.b26.backend.insights.domain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind queue in front of {@link InsightsEventWriter}. Request threads only enqueue; a single
+ * background drainer flushes multi-row batches once {@code batch-size} events are pending or
+ * {@code flush-interval-ms} has elapsed, and the queue is drained completely on shutdown. When the
+ * {@link InsightsEventJournal} is enabled, events go to the journal instead and this queue is only
+ * the fallback for appends the journal could not take.
+ */
+@Component
+public class InsightsIngestionBuffer implements SmartLifecycle {
+  private static final Logger log = LoggerFactory.getLogger(InsightsIngestionBuffer.class);
+
+  public enum OverflowPolicy {
+    DROP,
+    REJECT,
+    CALLER_RUNS
+  }
+
+  private final InsightsEventWriter writer;
+  private final InsightsEventJournal journal;
+  private final boolean writeBehind;
+  private final int batchSize;
+  private final Duration flushInterval;
+  private final OverflowPolicy overflowPolicy;
+  private final BlockingQueue<InsightsEvent> queue;
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final Timer flushTimer;
+  private final Counter droppedCounter;
+  private final Counter failedCounter;
+
+  private volatile boolean running;
+  private volatile Thread drainer;
+
+  public InsightsIngestionBuffer(
+      InsightsEventWriter writer,
+      InsightsEventJournal journal,
+      MeterRegistry meterRegistry,
+      @Value("${app.insights.ingest.write-behind:true}") boolean writeBehind,
+      @Value("${app.insights.ingest.queue-capacity:10000}") int queueCapacity,
+      @Value("${app.insights.ingest.batch-size:500}") int batchSize,
+      @Value("${app.insights.ingest.flush-interval-ms:1000}") long flushIntervalMs,
+      @Value("${app.insights.ingest.overflow-policy:drop}") String overflowPolicy) {
+    this.writer = writer;
+    this.journal = journal;
+    this.writeBehind = writeBehind;
+    this.batchSize = Math.max(1, batchSize);
+    this.flushInterval = Duration.ofMillis(Math.max(10, flushIntervalMs));
+    this.overflowPolicy =
+        OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+    Gauge.builder("insights.ingest.queue.depth", queue, BlockingQueue::size)
+        .description("Insight events waiting to be written")
+        .register(meterRegistry);
+    this.flushTimer =
+        Timer.builder("insights.ingest.flush")
+            .description("Latency of one batched insight event write")
+            .register(meterRegistry);
+    this.droppedCounter =
+        Counter.builder("insights.ingest.dropped")
+            .description("Insight events refused because the queue was full")
+            .register(meterRegistry);
+    this.failedCounter =
+        Counter.builder("insights.ingest.failed")
+            .description("Insight events lost because they could not be written, even one by one")
+            .register(meterRegistry);
+  }
+
+  public void submit(InsightsEvent event) {
+    if (journal.isEnabled() && journal.append(List.of(event))) {
+      return;
+    }
+    if (!writeBehind) {
+      write(List.of(event), true);
+      return;
+    }
+
+    if (!queue.offer(event)) {
+      handleOverflow(event);
+      return;
+    }
+    if (queue.size() >= batchSize) {
+      Thread current = drainer;
+      if (current != null) {
+        LockSupport.unpark(current);
+      }
+    }
+  }
+
+  /**
+   * Queues a whole batch. In synchronous mode the batch is written in one transaction; under the
+   * reject policy it is refused up front unless every event fits.
+   */
+  public void submitAll(List<InsightsEvent> events) {
+    if (events.isEmpty() || (journal.isEnabled() && journal.append(events))) {
+      return;
+    }
+    if (!writeBehind) {
+      write(events, true);
+      return;
+    }
+    if (overflowPolicy == OverflowPolicy.REJECT && queue.remainingCapacity() < events.size()) {
+      droppedCounter.increment(events.size());
+      throw new InsightsIngestionOverloadedException();
+    }
+
+    int queued = 0;
+    while (queued < events.size() && queue.offer(events.get(queued))) {
+      queued++;
+    }
+    if (queued < events.size()) {
+      List<InsightsEvent> overflow = events.subList(queued, events.size());
+      if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+        write(overflow, true);
+      } else {
+        droppedCounter.increment(overflow.size());
+      }
+    }
+    if (queue.size() >= batchSize) {
+      Thread current = drainer;
+      if (current != null) {
+        LockSupport.unpark(current);
+      }
+    }
+  }
+
+  /** Writes every event queued so far before returning. */
+  public void flush() {
+    List<InsightsEvent> batch = new ArrayList<>(batchSize);
+    writeLock.lock();
+    try {
+      while (queue.drainTo(batch, batchSize) > 0) {
+        write(batch, false);
+        batch.clear();
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  public double getQueueUtilization() {
+    int depth = queue.size();
+    return (double) depth / (depth + queue.remainingCapacity());
+  }
+
+  /** See {@link InsightsEventWriter#getRecentWriteNanos()}. */
+  public long getRecentWriteNanos() {
+    return writer.getRecentWriteNanos();
+  }
+
+  @Override
+  public void start() {
+    if (!writeBehind || running) {
+      return;
+    }
+    running = true;
+    Thread thread = new Thread(this::drainLoop, "insights-ingest-drainer");
+    thread.setDaemon(true);
+    drainer = thread;
+    thread.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    Thread thread = drainer;
+    if (thread != null) {
+      LockSupport.unpark(thread);
+      try {
+        thread.join(flushInterval.toMillis() * 2 + 1000);
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+      drainer = null;
+    }
+    flush();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    // Stop after the web server so requests still in flight can enqueue before the final drain.
+    return DEFAULT_PHASE - 4096;
+  }
+
+  private void drainLoop() {
+    long nextFlushAt = System.nanoTime() + flushInterval.toNanos();
+    while (running) {
+      long remaining = nextFlushAt - System.nanoTime();
+      if (remaining > 0 && queue.size() < batchSize) {
+        LockSupport.parkNanos(this, remaining);
+        continue;
+      }
+      flush();
+      nextFlushAt = System.nanoTime() + flushInterval.toNanos();
+    }
+  }
+
+  private void handleOverflow(InsightsEvent event) {
+    switch (overflowPolicy) {
+      case CALLER_RUNS -> write(List.of(event), true);
+      case REJECT -> {
+        droppedCounter.increment();
+        throw new InsightsIngestionOverloadedException();
+      }
+      case DROP -> droppedCounter.increment();
+    }
+  }
+
+  private void write(List<InsightsEvent> batch, boolean propagateFailure) {
+    writeLock.lock();
+    long startedAt = System.nanoTime();
+    try {
+      writer.write(batch);
+    } catch (RuntimeException exception) {
+      if (propagateFailure) {
+        failedCounter.increment(batch.size());
+        throw exception;
+      }
+      // Retried one by one so a single bad event does not take the rest of the batch with it.
+      int lost = batch.size() == 1 ? 1 : writer.writeEach(batch);
+      failedCounter.increment(lost);
+      log.warn(
+          "Batch write of {} insight events failed; {} lost after retrying one by one",
+          batch.size(),
+          lost,
+          exception);
+    } finally {
+      flushTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+      writeLock.unlock();
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.b26.backend.insights.domain;
+
+public class InsightsIngestionOverloadedException extends RuntimeException {
+  public InsightsIngestionOverloadedException() {
+    super("Insights ingestion is overloaded. Try again shortly.");
+  }
+}
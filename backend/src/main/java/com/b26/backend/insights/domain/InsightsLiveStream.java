@@ -0,0 +1,209 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.insights.api.CardInsightsDto;
+import com.b26.backend.insights.api.InsightsStreamUpdate;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed insight counter deltas to open dashboards over Server-Sent Events. Deltas are
+ * only accumulated for boards with subscribers and are coalesced so each board emits at most one
+ * update per {@code flush-interval-ms}; connections per node are capped at {@code
+ * max-connections}.
+ *
+ * <p>The scheduled ticks only hand work to a single sender thread, so blocking writes to slow
+ * clients never hold a scheduler thread. A tick is skipped while the previous one is still queued;
+ * deltas keep accumulating meanwhile, and one thread keeps each connection's events in order.
+ */
+@Component
+public class InsightsLiveStream {
+  private static final int TOP_CARDS = 5;
+
+  private final TopClickedCardsTracker topClickedCardsTracker;
+  private final int maxConnections;
+  private final long timeoutMs;
+  private final AtomicInteger connections = new AtomicInteger();
+  private final Map<String, BoardStream> boards = new ConcurrentHashMap<>();
+  private final AtomicBoolean flushQueued = new AtomicBoolean();
+  private final AtomicBoolean heartbeatQueued = new AtomicBoolean();
+  private final ExecutorService sender =
+      Executors.newSingleThreadExecutor(
+          task -> {
+            Thread thread = new Thread(task, "insights-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public InsightsLiveStream(
+      TopClickedCardsTracker topClickedCardsTracker,
+      @Value("${app.insights.stream.max-connections:500}") int maxConnections,
+      @Value("${app.insights.stream.timeout-ms:1800000}") long timeoutMs) {
+    this.topClickedCardsTracker = topClickedCardsTracker;
+    this.maxConnections = Math.max(1, maxConnections);
+    this.timeoutMs = timeoutMs;
+  }
+
+  public SseEmitter subscribe(String boardId) {
+    if (connections.incrementAndGet() > maxConnections) {
+      connections.decrementAndGet();
+      throw new InsightsStreamCapacityException();
+    }
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    BoardStream stream =
+        boards.compute(
+            boardId,
+            (id, existing) -> {
+              BoardStream current = existing == null ? new BoardStream(id) : existing;
+              current.emitters.add(emitter);
+              return current;
+            });
+    Runnable release = () -> remove(stream, emitter);
+    emitter.onCompletion(release);
+    emitter.onTimeout(release);
+    emitter.onError(error -> release.run());
+    return emitter;
+  }
+
+  /** Called after a batch commits; a no-op for boards nobody is watching. */
+  public void record(String boardId, long views, Map<String, Long> cardClicks) {
+    BoardStream stream = boards.get(boardId);
+    if (stream == null) {
+      return;
+    }
+    synchronized (stream) {
+      stream.views += views;
+      cardClicks.forEach((cardId, count) -> stream.cardClicks.merge(cardId, count, Long::sum));
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.insights.stream.flush-interval-ms:500}")
+  public void scheduleFlush() {
+    runOnSender(flushQueued, this::flush);
+  }
+
+  /** Comment lines keep idle connections open through proxies and surface dead clients. */
+  @Scheduled(fixedDelayString = "${app.insights.stream.heartbeat-interval-ms:15000}")
+  public void scheduleHeartbeat() {
+    runOnSender(heartbeatQueued, this::heartbeat);
+  }
+
+  /** Sends pending deltas on the calling thread. */
+  public void flush() {
+    for (BoardStream stream : boards.values()) {
+      long views;
+      Map<String, Long> cardClicks;
+      synchronized (stream) {
+        if (stream.views == 0 && stream.cardClicks.isEmpty()) {
+          continue;
+        }
+        views = stream.views;
+        cardClicks = stream.cardClicks;
+        stream.views = 0;
+        stream.cardClicks = new TreeMap<>();
+      }
+
+      List<CardInsightsDto> clicked = new ArrayList<>(cardClicks.size());
+      long clicks = 0;
+      for (Map.Entry<String, Long> entry : cardClicks.entrySet()) {
+        clicked.add(new CardInsightsDto(entry.getKey(), entry.getValue()));
+        clicks += entry.getValue();
+      }
+      List<CardInsightsDto> topCards = null;
+      if (clicks > 0) {
+        List<CardInsightsDto> current = topClickedCardsTracker.topCards(stream.boardId, TOP_CARDS);
+        if (!current.equals(stream.lastTopCards)) {
+          stream.lastTopCards = current;
+          topCards = current;
+        }
+      }
+      send(
+          stream,
+          SseEmitter.event()
+              .name("update")
+              .data(
+                  new InsightsStreamUpdate(stream.boardId, views, clicks, clicked, topCards),
+                  MediaType.APPLICATION_JSON));
+    }
+  }
+
+  public void heartbeat() {
+    for (BoardStream stream : boards.values()) {
+      send(stream, SseEmitter.event().comment("heartbeat"));
+    }
+  }
+
+  public int getConnectionCount() {
+    return connections.get();
+  }
+
+  public void clear() {
+    for (BoardStream stream : boards.values()) {
+      for (SseEmitter emitter : stream.emitters) {
+        emitter.complete();
+        remove(stream, emitter);
+      }
+    }
+    boards.clear();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    sender.shutdownNow();
+  }
+
+  private void runOnSender(AtomicBoolean queued, Runnable task) {
+    if (queued.compareAndSet(false, true)) {
+      sender.execute(
+          () -> {
+            queued.set(false);
+            task.run();
+          });
+    }
+  }
+
+  private void send(BoardStream stream, SseEmitter.SseEventBuilder event) {
+    for (SseEmitter emitter : stream.emitters) {
+      try {
+        emitter.send(event);
+      } catch (IOException | IllegalStateException exception) {
+        remove(stream, emitter);
+      }
+    }
+  }
+
+  private void remove(BoardStream stream, SseEmitter emitter) {
+    if (stream.emitters.remove(emitter)) {
+      connections.decrementAndGet();
+    }
+    boards.computeIfPresent(
+        stream.boardId,
+        (id, current) -> current == stream && stream.emitters.isEmpty() ? null : current);
+  }
+
+  private static final class BoardStream {
+    private final String boardId;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private long views;
+    private Map<String, Long> cardClicks = new TreeMap<>();
+    private List<CardInsightsDto> lastTopCards;
+
+    BoardStream(String boardId) {
+      this.boardId = boardId;
+    }
+  }
+}
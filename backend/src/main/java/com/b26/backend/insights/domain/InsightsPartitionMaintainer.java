@@ -0,0 +1,119 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.insights.persistence.InsightsPartitionRepository;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly partitions of the raw event tables created ahead of time and drops whole months
+ * that fall outside {@code app.insights.partitions.retention-months}. Summaries read the rollup
+ * tables, so dropped months only disappear from raw-event queries. Does nothing on databases
+ * without declarative partitioning.
+ */
+@Component
+public class InsightsPartitionMaintainer {
+  private static final Logger log = LoggerFactory.getLogger(InsightsPartitionMaintainer.class);
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private final InsightsPartitionRepository partitionRepository;
+  private final int monthsAhead;
+  private final int retentionMonths;
+  private volatile Boolean supported;
+
+  public InsightsPartitionMaintainer(
+      InsightsPartitionRepository partitionRepository,
+      @Value("${app.insights.partitions.months-ahead:3}") int monthsAhead,
+      @Value("${app.insights.partitions.retention-months:0}") int retentionMonths) {
+    this.partitionRepository = partitionRepository;
+    this.monthsAhead = Math.max(1, monthsAhead);
+    this.retentionMonths = Math.max(0, retentionMonths);
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.insights.partitions.initial-delay-ms:0}",
+      fixedDelayString = "${app.insights.partitions.maintenance-interval-ms:21600000}")
+  public void maintain() {
+    if (!isSupported()) {
+      return;
+    }
+
+    YearMonth current = YearMonth.now(ZoneOffset.UTC);
+    for (String table : InsightsPartitionRepository.PARTITIONED_TABLES) {
+      for (int offset = 0; offset <= monthsAhead; offset++) {
+        partitionRepository.ensureMonthPartition(table, current.plusMonths(offset).atDay(1));
+      }
+      if (retentionMonths > 0) {
+        dropExpired(table, current.minusMonths(retentionMonths));
+      }
+    }
+  }
+
+  /**
+   * First day whose raw events are all still on disk: the start of the oldest month left in every
+   * partitioned table, or the retention boundary if the next run is about to drop that month.
+   * Empty without partitioning, where nothing is ever dropped.
+   */
+  public Optional<LocalDate> firstRetainedDay() {
+    if (!isSupported()) {
+      return Optional.empty();
+    }
+    YearMonth first = null;
+    for (String table : InsightsPartitionRepository.PARTITIONED_TABLES) {
+      YearMonth oldest = null;
+      for (String partition : partitionRepository.listPartitions(table)) {
+        YearMonth month = partitionMonth(table, partition);
+        if (month != null && (oldest == null || month.isBefore(oldest))) {
+          oldest = month;
+        }
+      }
+      if (oldest != null && (first == null || oldest.isAfter(first))) {
+        first = oldest;
+      }
+    }
+    if (retentionMonths > 0) {
+      YearMonth oldestKept = YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths);
+      if (first == null || oldestKept.isAfter(first)) {
+        first = oldestKept;
+      }
+    }
+    return Optional.ofNullable(first).map(month -> month.atDay(1));
+  }
+
+  private boolean isSupported() {
+    if (supported == null) {
+      supported = partitionRepository.isSupported();
+    }
+    return supported;
+  }
+
+  private void dropExpired(String table, YearMonth oldestKept) {
+    for (String partition : partitionRepository.listPartitions(table)) {
+      YearMonth month = partitionMonth(table, partition);
+      if (month != null && month.isBefore(oldestKept)) {
+        log.info("Dropping insights partition {} (retention starts at {})", partition, oldestKept);
+        partitionRepository.detachAndDropPartition(table, partition);
+      }
+    }
+  }
+
+  private static YearMonth partitionMonth(String table, String partition) {
+    String prefix = table + "_p";
+    if (!partition.startsWith(prefix)) {
+      return null;
+    }
+    try {
+      return YearMonth.parse(partition.substring(prefix.length()), PARTITION_SUFFIX);
+    } catch (DateTimeParseException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.b26.backend.insights.domain;
+
+public class InsightsPayloadTooLargeException extends RuntimeException {
+  public InsightsPayloadTooLargeException(int maxBytes) {
+    super("Event batch must be at most " + maxBytes + " bytes");
+  }
+}
@@ -0,0 +1,51 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.common.cache.BoundedTtlCache;
+import com.b26.backend.insights.api.InsightsResponse;
+import com.b26.backend.insights.api.InsightsSummaryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived per-board copies of the summary and card totals, so a burst of dashboard reads for
+ * one board runs the aggregate queries once. Entries are dropped whenever a write batch touching
+ * the board commits.
+ */
+@Component
+public class InsightsReadCache {
+  private final BoundedTtlCache<String, InsightsSummaryResponse> summaries;
+  private final BoundedTtlCache<String, InsightsResponse> cardTotals;
+
+  public InsightsReadCache(
+      MeterRegistry meterRegistry,
+      @Value("${app.insights.read-cache.max-boards:1000}") int maxBoards,
+      @Value("${app.insights.read-cache.ttl-ms:5000}") long ttlMs) {
+    Duration ttl = Duration.ofMillis(ttlMs);
+    this.summaries =
+        new BoundedTtlCache<>("insights.summary", maxBoards, ttl, meterRegistry);
+    this.cardTotals =
+        new BoundedTtlCache<>("insights.card.totals", maxBoards, ttl, meterRegistry);
+  }
+
+  public InsightsSummaryResponse summary(
+      String boardId, Function<String, InsightsSummaryResponse> loader) {
+    return summaries.get(boardId, loader);
+  }
+
+  public InsightsResponse cardTotals(String boardId, Function<String, InsightsResponse> loader) {
+    return cardTotals.get(boardId, loader);
+  }
+
+  public void invalidate(String boardId) {
+    summaries.invalidate(boardId);
+    cardTotals.invalidate(boardId);
+  }
+
+  public void clear() {
+    summaries.invalidateAll();
+    cardTotals.invalidateAll();
+  }
+}
@@ -0,0 +1,23 @@
+package com.b26.backend.insights.domain;
+
+import java.util.Locale;
+
+public enum InsightsResolution {
+  HOUR,
+  DAY,
+  WEEK;
+
+  public static InsightsResolution parse(String value) {
+    String normalized = value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    for (InsightsResolution resolution : values()) {
+      if (resolution.name().equals(normalized)) {
+        return resolution;
+      }
+    }
+    throw new InvalidInsightsQueryException("resolution must be one of hour, day, week");
+  }
+
+  public String value() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
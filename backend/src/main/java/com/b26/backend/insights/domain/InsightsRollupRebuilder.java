@@ -0,0 +1,258 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.insights.api.RollupRebuildResponse;
+import com.b26.backend.insights.persistence.InsightsRebuildCheckpointEntity;
+import com.b26.backend.insights.persistence.InsightsRebuildCheckpointRepository;
+import com.b26.backend.insights.persistence.InsightsRollupRebuildRepository;
+import com.b26.backend.insights.persistence.InsightsRollupRebuildRepository.EventBoard;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recomputes every rollup from raw events, split into per-board chunks of {@code chunk-days} days
+ * that run on a pool of {@code parallelism} threads, each chunk in its own transaction and
+ * therefore on its own connection. A chunk records its checkpoint in the same transaction, so a
+ * rerun with the same run id only redoes chunks that failed or never ran.
+ *
+ * <p>Only closed days are rebuilt: writes stamp events with their arrival time, so once a day has
+ * been over for {@code settle-hours} ingestion no longer touches its rollups. That does not hold
+ * for events still waiting in the {@link InsightsEventJournal}: after an outage its replay writes
+ * them into days that may look closed, so no rebuild starts while the journal has a backlog.
+ *
+ * <p>Days before {@link InsightsCompactionService#firstCompleteRawDay} or {@link
+ * InsightsPartitionMaintainer#firstRetainedDay} are skipped because their raw events are, or are
+ * about to be, partly gone; rebuilding them would wipe rollups that cannot be restored.
+ */
+@Service
+public class InsightsRollupRebuilder {
+  private static final Logger log = LoggerFactory.getLogger(InsightsRollupRebuilder.class);
+
+  private final InsightsRollupRebuildRepository rebuildRepository;
+  private final InsightsRebuildCheckpointRepository checkpointRepository;
+  private final InsightsCompactionService compactionService;
+  private final InsightsPartitionMaintainer partitionMaintainer;
+  private final InsightsEventJournal journal;
+  private final InsightsReadCache readCache;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService executor;
+  private final int chunkDays;
+  private final Duration settle;
+  private Run current;
+
+  public InsightsRollupRebuilder(
+      InsightsRollupRebuildRepository rebuildRepository,
+      InsightsRebuildCheckpointRepository checkpointRepository,
+      InsightsCompactionService compactionService,
+      InsightsPartitionMaintainer partitionMaintainer,
+      InsightsEventJournal journal,
+      InsightsReadCache readCache,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.insights.rebuild.parallelism:4}") int parallelism,
+      @Value("${app.insights.rebuild.chunk-days:7}") int chunkDays,
+      @Value("${app.insights.rebuild.settle-hours:6}") long settleHours) {
+    this.rebuildRepository = rebuildRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.compactionService = compactionService;
+    this.partitionMaintainer = partitionMaintainer;
+    this.journal = journal;
+    this.readCache = readCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    AtomicInteger threads = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, parallelism),
+            task -> {
+              Thread thread =
+                  new Thread(task, "insights-rebuild-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.chunkDays = Math.max(1, chunkDays);
+    this.settle = Duration.ofHours(Math.max(0, settleHours));
+  }
+
+  /**
+   * Plans and starts a rebuild of {@code from..to} (both optional) unless one is already running,
+   * in which case that run is returned. The future completes with the final status, at once with
+   * state {@code blocked_journal_backlog} while journaled events are still being replayed.
+   */
+  public synchronized CompletableFuture<RollupRebuildResponse> start(
+      LocalDate from, LocalDate to, String runId) {
+    if (current != null && !current.completion.isDone()) {
+      return current.completion;
+    }
+    if (from != null && to != null && to.isBefore(from)) {
+      throw new InvalidInsightsQueryException("from must not be after to");
+    }
+    if (journal.hasBacklog()) {
+      return CompletableFuture.completedFuture(
+          new RollupRebuildResponse(null, "blocked_journal_backlog", 0, 0, 0, 0, null, null));
+    }
+
+    LocalDate lastClosedDay =
+        LocalDate.ofInstant(Instant.now().minus(settle), ZoneOffset.UTC).minusDays(1);
+    LocalDate end = to == null || to.isAfter(lastClosedDay) ? lastClosedDay : to;
+    Run run =
+        new Run(runId == null || runId.isBlank() ? UUID.randomUUID().toString() : runId.trim());
+    Optional<LocalDate> retained = partitionMaintainer.firstRetainedDay();
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (EventBoard board : rebuildRepository.findEventBoards()) {
+      Optional<LocalDate> first = firstRebuildableDay(board, from, retained);
+      if (first.isEmpty()) {
+        continue;
+      }
+      for (LocalDate chunkStart = first.get();
+          !chunkStart.isAfter(end);
+          chunkStart = chunkStart.plusDays(chunkDays)) {
+        LocalDate chunkEnd = chunkStart.plusDays(chunkDays - 1L);
+        Chunk chunk = new Chunk(board, chunkStart, chunkEnd.isAfter(end) ? end : chunkEnd);
+        run.total.incrementAndGet();
+        tasks.add(CompletableFuture.runAsync(() -> rebuildChunk(run, chunk), executor));
+      }
+    }
+
+    CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+        .whenComplete(
+            (ignored, failure) -> {
+              run.finishedAt = Instant.now();
+              log.info(
+                  "Rollup rebuild {} finished: {} chunks rebuilt, {} skipped, {} failed",
+                  run.runId,
+                  run.completed.get(),
+                  run.skipped.get(),
+                  run.failed.get());
+              run.completion.complete(run.toResponse());
+            });
+    current = run;
+    return run.completion;
+  }
+
+  public synchronized RollupRebuildResponse status() {
+    return current == null
+        ? new RollupRebuildResponse(null, "idle", 0, 0, 0, 0, null, null)
+        : current.toResponse();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private Optional<LocalDate> firstRebuildableDay(
+      EventBoard board, LocalDate from, Optional<LocalDate> retained) {
+    Optional<LocalDate> first =
+        from != null
+            ? Optional.of(from)
+            : rebuildRepository
+                .findFirstEventAt(board.id())
+                .map(InsightsEventWriter::toUtcDate);
+    Optional<LocalDate> complete = compactionService.firstCompleteRawDay(board.boardId());
+    return first.map(day -> latest(latest(day, complete), retained));
+  }
+
+  private static LocalDate latest(LocalDate day, Optional<LocalDate> bound) {
+    return bound.filter(day::isBefore).orElse(day);
+  }
+
+  private void rebuildChunk(Run run, Chunk chunk) {
+    String boardId = chunk.board().boardId();
+    InsightsRebuildCheckpointEntity.Key key =
+        new InsightsRebuildCheckpointEntity.Key(run.runId, boardId, chunk.from());
+    try {
+      if (checkpointRepository.existsById(key)) {
+        run.skipped.incrementAndGet();
+        return;
+      }
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            rebuildRepository.rebuildCounters(chunk.board(), chunk.from(), chunk.to());
+            rebuildVisitorSketches(chunk);
+
+            InsightsRebuildCheckpointEntity checkpoint = new InsightsRebuildCheckpointEntity();
+            checkpoint.setRunId(run.runId);
+            checkpoint.setBoardId(boardId);
+            checkpoint.setChunkStart(chunk.from());
+            checkpoint.setChunkEnd(chunk.to());
+            checkpoint.setCompletedAt(Instant.now());
+            checkpointRepository.save(checkpoint);
+          });
+      readCache.invalidate(boardId);
+      run.completed.incrementAndGet();
+    } catch (RuntimeException exception) {
+      run.failed.incrementAndGet();
+      log.warn(
+          "Rollup rebuild {} failed for board {} {}..{}",
+          run.runId,
+          boardId,
+          chunk.from(),
+          chunk.to(),
+          exception);
+    }
+  }
+
+  private void rebuildVisitorSketches(Chunk chunk) {
+    Map<LocalDate, HyperLogLog> visitorsByDay = new HashMap<>();
+    rebuildRepository.forEachVisitor(
+        chunk.board(),
+        chunk.from(),
+        chunk.to(),
+        (day, sourceIp) ->
+            visitorsByDay
+                .computeIfAbsent(day, ignored -> new HyperLogLog())
+                .add(SourceAddresses.toText(sourceIp)));
+    Map<LocalDate, byte[]> sketches = new HashMap<>();
+    visitorsByDay.forEach((day, sketch) -> sketches.put(day, sketch.toBytes()));
+    rebuildRepository.replaceVisitorSketches(
+        chunk.board().boardId(), chunk.from(), chunk.to(), sketches);
+  }
+
+  private record Chunk(EventBoard board, LocalDate from, LocalDate to) {}
+
+  private static final class Run {
+    private final String runId;
+    private final Instant startedAt = Instant.now();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final CompletableFuture<RollupRebuildResponse> completion = new CompletableFuture<>();
+    private volatile Instant finishedAt;
+
+    private Run(String runId) {
+      this.runId = runId;
+    }
+
+    private RollupRebuildResponse toResponse() {
+      String state =
+          finishedAt == null ? "running" : failed.get() > 0 ? "completed_with_failures" : "completed";
+      return new RollupRebuildResponse(
+          runId,
+          state,
+          total.get(),
+          completed.get(),
+          skipped.get(),
+          failed.get(),
+          startedAt,
+          finishedAt);
+    }
+  }
+}
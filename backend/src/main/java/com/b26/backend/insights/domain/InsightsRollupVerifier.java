@@ -0,0 +1,121 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.board.domain.BoardNotFoundException;
+import com.b26.backend.board.persistence.BoardRepository;
+import com.b26.backend.insights.api.RollupMismatchDto;
+import com.b26.backend.insights.api.RollupVerificationResponse;
+import com.b26.backend.insights.persistence.BoardViewDailyEntity;
+import com.b26.backend.insights.persistence.BoardViewDailyRepository;
+import com.b26.backend.insights.persistence.CardClickDailyEntity;
+import com.b26.backend.insights.persistence.CardClickDailyRepository;
+import com.b26.backend.insights.persistence.ClickEventRepository;
+import com.b26.backend.insights.persistence.ViewEventRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class InsightsRollupVerifier {
+  private static final int MAX_DAYS = 366;
+
+  private final BoardRepository boardRepository;
+  private final BoardViewDailyRepository boardViewDailyRepository;
+  private final CardClickDailyRepository cardClickDailyRepository;
+  private final ViewEventRepository viewEventRepository;
+  private final ClickEventRepository clickEventRepository;
+  private final InsightsCompactionService compactionService;
+  private final InsightsPartitionMaintainer partitionMaintainer;
+
+  public InsightsRollupVerifier(
+      BoardRepository boardRepository,
+      BoardViewDailyRepository boardViewDailyRepository,
+      CardClickDailyRepository cardClickDailyRepository,
+      ViewEventRepository viewEventRepository,
+      ClickEventRepository clickEventRepository,
+      InsightsCompactionService compactionService,
+      InsightsPartitionMaintainer partitionMaintainer) {
+    this.boardRepository = boardRepository;
+    this.boardViewDailyRepository = boardViewDailyRepository;
+    this.cardClickDailyRepository = cardClickDailyRepository;
+    this.viewEventRepository = viewEventRepository;
+    this.clickEventRepository = clickEventRepository;
+    this.compactionService = compactionService;
+    this.partitionMaintainer = partitionMaintainer;
+  }
+
+  @Transactional(readOnly = true)
+  public RollupVerificationResponse verify(String boardId, LocalDate from, LocalDate to) {
+    if (!boardRepository.existsById(boardId)) {
+      throw new BoardNotFoundException(boardId);
+    }
+    if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+      throw new InvalidInsightsQueryException(
+          "verification range must be ascending and at most " + MAX_DAYS + " days");
+    }
+
+    Map<LocalDate, Long> viewRollups = new HashMap<>();
+    for (BoardViewDailyEntity row :
+        boardViewDailyRepository.findByBoardIdAndActivityDateBetween(boardId, from, to)) {
+      viewRollups.put(row.getActivityDate(), row.getViewCount());
+    }
+    Map<LocalDate, Map<String, Long>> clickRollups = new HashMap<>();
+    for (CardClickDailyEntity row :
+        cardClickDailyRepository.findByBoardIdAndActivityDateBetween(boardId, from, to)) {
+      clickRollups
+          .computeIfAbsent(row.getActivityDate(), day -> new HashMap<>())
+          .put(row.getCardId(), row.getClickCount());
+    }
+
+    // Raw events before the compaction watermark or in dropped partitions are gone; only the
+    // rollups remain for those days.
+    LocalDate firstRawDay =
+        latest(
+            latest(
+                from,
+                compactionService.compactedBefore(boardId).map(InsightsEventWriter::toUtcDate)),
+            partitionMaintainer.firstRetainedDay());
+
+    List<RollupMismatchDto> mismatches = new ArrayList<>();
+    for (LocalDate day = firstRawDay; !day.isAfter(to); day = day.plusDays(1)) {
+      Instant start = day.atStartOfDay().toInstant(ZoneOffset.UTC);
+      Instant end = day.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+      long rawViews =
+          viewEventRepository.sumWeightForBoardBetween(boardId, start, end);
+      long rolledViews = viewRollups.getOrDefault(day, 0L);
+      if (rawViews != rolledViews) {
+        mismatches.add(new RollupMismatchDto(day, "views", null, rolledViews, rawViews));
+      }
+
+      Map<String, Long> rawClicks = new HashMap<>();
+      clickEventRepository
+          .countByCardForBoardBetween(boardId, start, end)
+          .forEach(row -> rawClicks.put(row.getCardId(), row.getClickCount()));
+      Map<String, Long> rolledClicks = clickRollups.getOrDefault(day, Map.of());
+      TreeSet<String> cardIds = new TreeSet<>(rawClicks.keySet());
+      cardIds.addAll(rolledClicks.keySet());
+      for (String cardId : cardIds) {
+        long raw = rawClicks.getOrDefault(cardId, 0L);
+        long rolled = rolledClicks.getOrDefault(cardId, 0L);
+        if (raw != rolled) {
+          mismatches.add(new RollupMismatchDto(day, "clicks", cardId, rolled, raw));
+        }
+      }
+    }
+
+    return new RollupVerificationResponse(boardId, from, to, mismatches.isEmpty(), mismatches);
+  }
+
+  private static LocalDate latest(LocalDate day, Optional<LocalDate> bound) {
+    return bound.filter(day::isBefore).orElse(day);
+  }
+}
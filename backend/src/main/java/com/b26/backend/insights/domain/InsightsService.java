@@ -1,127 +1,408 @@
 package com.b26.backend.insights.domain;
 
+import com.b26.backend.insights.api.BreakdownEntryDto;
+import com.b26.backend.insights.api.InsightsBreakdownResponse;
 import com.b26.backend.insights.api.InsightsResponse;
 import com.b26.backend.insights.api.InsightsSummaryResponse;
 import com.b26.backend.insights.api.CardInsightsDto;
-import com.b26.backend.insights.persistence.ClickEventEntity;
-import com.b26.backend.insights.persistence.ClickEventRepository;
-import com.b26.backend.insights.persistence.ViewEventEntity;
-import com.b26.backend.insights.persistence.ViewEventRepository;
+import com.b26.backend.insights.api.InsightsTimeSeriesResponse;
+import com.b26.backend.insights.api.RecordEventRequest;
+import com.b26.backend.insights.api.TimeSeriesBucketDto;
+import com.b26.backend.insights.persistence.BoardActivityHourlyEntity;
+import com.b26.backend.insights.persistence.BoardActivityHourlyRepository;
+import com.b26.backend.insights.persistence.BoardViewDailyEntity;
+import com.b26.backend.insights.persistence.BoardViewDailyRepository;
+import com.b26.backend.insights.persistence.BoardViewDeviceDailyRepository;
+import com.b26.backend.insights.persistence.BoardViewSourceDailyRepository;
+import com.b26.backend.insights.persistence.BoardViewSourceDailyRepository.DimensionCountView;
+import com.b26.backend.insights.persistence.BoardVisitorSketchEntity;
+import com.b26.backend.insights.persistence.BoardVisitorSketchRepository;
+import com.b26.backend.insights.persistence.CardClickDailyRepository;
+import com.b26.backend.board.domain.BoardCardMembershipCache;
 import com.b26.backend.board.domain.BoardNotFoundException;
-import com.b26.backend.board.persistence.CardRepository;
 import com.b26.backend.board.persistence.BoardRepository;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.DayOfWeek;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 public class InsightsService {
-  private final ClickEventRepository clickEventRepository;
-  private final ViewEventRepository viewEventRepository;
+  private static final int MAX_TIME_SERIES_BUCKETS = 1000;
+  private static final int MAX_BATCH_EVENTS = 100;
+  private static final int MAX_BREAKDOWN_DAYS = 366;
+  // Width of event_sources.name and event_device_types.name.
+  static final int MAX_DIMENSION_LENGTH = 255;
+
+  private final BoardViewDailyRepository boardViewDailyRepository;
+  private final BoardViewSourceDailyRepository boardViewSourceDailyRepository;
+  private final BoardViewDeviceDailyRepository boardViewDeviceDailyRepository;
+  private final CardClickDailyRepository cardClickDailyRepository;
+  private final BoardActivityHourlyRepository boardActivityHourlyRepository;
+  private final BoardVisitorSketchRepository boardVisitorSketchRepository;
   private final BoardRepository boardRepository;
-  private final CardRepository cardRepository;
+  private final BoardCardMembershipCache membershipCache;
   private final ClickAbuseGuard clickAbuseGuard;
+  private final InsightsIngestionBuffer ingestionBuffer;
+  private final TopClickedCardsTracker topClickedCardsTracker;
+  private final InsightsLiveStream liveStream;
+  private final InsightsReadCache readCache;
+  private final ViewSampler viewSampler;
+  private final TransactionTemplate readOnlyTransaction;
 
   public InsightsService(
-      ClickEventRepository clickEventRepository,
-      ViewEventRepository viewEventRepository,
+      BoardViewDailyRepository boardViewDailyRepository,
+      BoardViewSourceDailyRepository boardViewSourceDailyRepository,
+      BoardViewDeviceDailyRepository boardViewDeviceDailyRepository,
+      CardClickDailyRepository cardClickDailyRepository,
+      BoardActivityHourlyRepository boardActivityHourlyRepository,
+      BoardVisitorSketchRepository boardVisitorSketchRepository,
       BoardRepository boardRepository,
-      CardRepository cardRepository,
-      ClickAbuseGuard clickAbuseGuard) {
-    this.clickEventRepository = clickEventRepository;
-    this.viewEventRepository = viewEventRepository;
+      BoardCardMembershipCache membershipCache,
+      ClickAbuseGuard clickAbuseGuard,
+      InsightsIngestionBuffer ingestionBuffer,
+      TopClickedCardsTracker topClickedCardsTracker,
+      InsightsLiveStream liveStream,
+      InsightsReadCache readCache,
+      ViewSampler viewSampler,
+      PlatformTransactionManager transactionManager) {
+    this.boardViewDailyRepository = boardViewDailyRepository;
+    this.boardViewSourceDailyRepository = boardViewSourceDailyRepository;
+    this.boardViewDeviceDailyRepository = boardViewDeviceDailyRepository;
+    this.cardClickDailyRepository = cardClickDailyRepository;
+    this.boardActivityHourlyRepository = boardActivityHourlyRepository;
+    this.boardVisitorSketchRepository = boardVisitorSketchRepository;
     this.boardRepository = boardRepository;
-    this.cardRepository = cardRepository;
+    this.membershipCache = membershipCache;
     this.clickAbuseGuard = clickAbuseGuard;
+    this.ingestionBuffer = ingestionBuffer;
+    this.topClickedCardsTracker = topClickedCardsTracker;
+    this.liveStream = liveStream;
+    this.readCache = readCache;
+    this.viewSampler = viewSampler;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
   }
 
-  @Transactional
   public void recordClick(String boardId, String cardId, String sourceIp) {
-    if (!boardRepository.existsById(boardId)) {
+    Set<String> cardIds = membershipCache.cardIds(boardId);
+    if (cardIds == null) {
       throw new BoardNotFoundException(boardId);
     }
-    if (!cardRepository.existsByBoard_IdAndId(boardId, cardId)) {
+    if (!cardIds.contains(cardId)) {
       throw new CardNotFoundForBoardException(boardId, cardId);
     }
     if (!clickAbuseGuard.shouldAccept(sourceIp, boardId, cardId)) {
       throw new ClickRateLimitedException();
     }
 
-    ClickEventEntity event = new ClickEventEntity();
-    event.setBoardId(boardId);
-    event.setCardId(cardId);
-    event.setOccurredAt(Instant.now());
-    event.setSourceIp(sourceIp);
-    clickEventRepository.save(event);
+    ingestionBuffer.submit(new InsightsEvent.Click(boardId, cardId, Instant.now(), sourceIp));
   }
 
-  @Transactional
   public void recordView(String boardId, String sourceIp, String source, String userAgent) {
-    if (!boardRepository.existsById(boardId)) {
+    if (!membershipCache.containsBoard(boardId)) {
       throw new BoardNotFoundException(boardId);
     }
 
-    ViewEventEntity event = new ViewEventEntity();
-    event.setBoardId(boardId);
-    event.setOccurredAt(Instant.now());
-    event.setSourceIp(sourceIp);
-    event.setSource(normalizeSource(source));
-    event.setDeviceType(resolveDeviceType(userAgent));
-    viewEventRepository.save(event);
+    int weight = viewSampler.sample();
+    if (weight == 0) {
+      return;
+    }
+    ingestionBuffer.submit(
+        new InsightsEvent.View(
+            boardId,
+            Instant.now(),
+            sourceIp,
+            normalizeSource(source),
+            resolveDeviceType(userAgent),
+            weight));
+  }
+
+  /**
+   * Validates the whole batch before anything is queued; clicks suppressed by the abuse guard are
+   * skipped rather than failing the batch, since beacon senders never see the response.
+   */
+  public void recordEvents(List<RecordEventRequest> events, String sourceIp, String userAgent) {
+    if (events == null || events.isEmpty()) {
+      throw new InvalidInsightsQueryException("events must not be empty");
+    }
+    if (events.size() > MAX_BATCH_EVENTS) {
+      throw new InvalidInsightsQueryException(
+          "at most " + MAX_BATCH_EVENTS + " events can be sent at once");
+    }
+
+    Set<String> boardIds = new LinkedHashSet<>();
+    Set<List<String>> boardCards = new LinkedHashSet<>();
+    for (int i = 0; i < events.size(); i++) {
+      RecordEventRequest event = events.get(i);
+      if (event == null || event.boardId() == null || event.boardId().isBlank()) {
+        throw new InvalidInsightsQueryException("events[" + i + "].boardId is required");
+      }
+      boolean click = isClick(event, i);
+      if (click && (event.cardId() == null || event.cardId().isBlank())) {
+        throw new InvalidInsightsQueryException("events[" + i + "].cardId is required for clicks");
+      }
+      boardIds.add(event.boardId());
+      if (click) {
+        boardCards.add(List.of(event.boardId(), event.cardId()));
+      }
+    }
+    for (String boardId : boardIds) {
+      if (!membershipCache.containsBoard(boardId)) {
+        throw new BoardNotFoundException(boardId);
+      }
+    }
+    for (List<String> boardCard : boardCards) {
+      if (!membershipCache.containsCard(boardCard.get(0), boardCard.get(1))) {
+        throw new CardNotFoundForBoardException(boardCard.get(0), boardCard.get(1));
+      }
+    }
+
+    Instant now = Instant.now();
+    String deviceType = resolveDeviceType(userAgent);
+    List<InsightsEvent> accepted = new ArrayList<>(events.size());
+    for (int i = 0; i < events.size(); i++) {
+      RecordEventRequest event = events.get(i);
+      if (!isClick(event, i)) {
+        int weight = viewSampler.sample();
+        if (weight == 0) {
+          continue;
+        }
+        accepted.add(
+            new InsightsEvent.View(
+                event.boardId(),
+                now,
+                sourceIp,
+                normalizeSource(event.source()),
+                deviceType,
+                weight));
+      } else if (clickAbuseGuard.shouldAccept(sourceIp, event.boardId(), event.cardId())) {
+        accepted.add(new InsightsEvent.Click(event.boardId(), event.cardId(), now, sourceIp));
+      }
+    }
+    ingestionBuffer.submitAll(accepted);
   }
 
-  @Transactional(readOnly = true)
   public InsightsResponse getInsights(String boardId) {
+    return readCache.cardTotals(
+        boardId, id -> readOnlyTransaction.execute(status -> loadInsights(id)));
+  }
+
+  private InsightsResponse loadInsights(String boardId) {
     if (!boardRepository.existsById(boardId)) {
       throw new BoardNotFoundException(boardId);
     }
-    long total = clickEventRepository.countByBoardId(boardId);
+    long total = cardClickDailyRepository.sumClicksForBoard(boardId);
     List<CardInsightsDto> byCard =
-        clickEventRepository.countByCardForBoard(boardId).stream()
+        cardClickDailyRepository.sumByCardForBoard(boardId).stream()
             .map(row -> new CardInsightsDto(row.getCardId(), row.getClickCount()))
             .toList();
     return new InsightsResponse(boardId, total, byCard);
   }
 
-  @Transactional(readOnly = true)
+  /** Concurrent callers for the same board share one load; see {@link InsightsReadCache}. */
   public InsightsSummaryResponse getSummary(String boardId) {
+    return readCache.summary(
+        boardId, id -> readOnlyTransaction.execute(status -> loadSummary(id)));
+  }
+
+  private InsightsSummaryResponse loadSummary(String boardId) {
     if (!boardRepository.existsById(boardId)) {
       throw new BoardNotFoundException(boardId);
     }
 
-    Instant now = Instant.now();
-    Instant thirtyDaysAgo = now.minusSeconds(30L * 24L * 60L * 60L);
-    Instant startOfTodayUtc = LocalDate.now(ZoneOffset.UTC).atStartOfDay().toInstant(ZoneOffset.UTC);
-
-    long totalVisits = viewEventRepository.countByBoardId(boardId);
-    long visitsLast30Days =
-        viewEventRepository.countByBoardIdAndOccurredAtGreaterThanEqual(boardId, thirtyDaysAgo);
-    long visitsToday =
-        viewEventRepository.countByBoardIdAndOccurredAtGreaterThanEqual(boardId, startOfTodayUtc);
-    long totalClicks = clickEventRepository.countByBoardId(boardId);
-    List<CardInsightsDto> topClickedLinks =
-        clickEventRepository.countByCardForBoard(boardId).stream()
-            .limit(5)
-            .map(row -> new CardInsightsDto(row.getCardId(), row.getClickCount()))
-            .toList();
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    BoardViewDailyRepository.ViewTotalsView views =
+        boardViewDailyRepository.summarizeForBoard(boardId, today.minusDays(29), today);
+    long totalClicks = cardClickDailyRepository.sumClicksForBoard(boardId);
+    List<CardInsightsDto> topClickedLinks = topClickedCardsTracker.topCards(boardId, 5);
+
+    HyperLogLog visitorsToday = new HyperLogLog();
+    HyperLogLog visitorsLast30Days = new HyperLogLog();
+    for (BoardVisitorSketchEntity row :
+        boardVisitorSketchRepository.findByBoardIdAndActivityDateBetween(
+            boardId, today.minusDays(29), today)) {
+      HyperLogLog sketch = HyperLogLog.fromBytes(row.getSketch());
+      visitorsLast30Days.merge(sketch);
+      if (row.getActivityDate().equals(today)) {
+        visitorsToday.merge(sketch);
+      }
+    }
 
     return new InsightsSummaryResponse(
         boardId,
-        totalVisits,
-        visitsLast30Days,
-        visitsToday,
+        views.getTotalViews(),
+        views.getViewsSince(),
+        views.getViewsToday(),
         totalClicks,
-        topClickedLinks);
+        topClickedLinks,
+        visitorsToday.estimate(),
+        visitorsLast30Days.estimate());
   }
 
+  public SseEmitter openStream(String boardId) {
+    if (!membershipCache.containsBoard(boardId)) {
+      throw new BoardNotFoundException(boardId);
+    }
+    return liveStream.subscribe(boardId);
+  }
+
+  @Transactional(readOnly = true)
+  public InsightsTimeSeriesResponse getTimeSeries(
+      String boardId, LocalDate from, LocalDate to, String resolution) {
+    if (!boardRepository.existsById(boardId)) {
+      throw new BoardNotFoundException(boardId);
+    }
+
+    InsightsResolution bucketSize = InsightsResolution.parse(resolution);
+    LocalDate end = to == null ? LocalDate.now(ZoneOffset.UTC) : to;
+    LocalDate start =
+        from == null ? (bucketSize == InsightsResolution.HOUR ? end : end.minusDays(29)) : from;
+    if (end.isBefore(start)) {
+      throw new InvalidInsightsQueryException("from must not be after to");
+    }
+    long days = ChronoUnit.DAYS.between(start, end) + 1;
+    long buckets = bucketSize == InsightsResolution.HOUR ? days * 24 : days;
+    if (buckets > MAX_TIME_SERIES_BUCKETS) {
+      throw new InvalidInsightsQueryException(
+          "range is too large for " + bucketSize.value() + " resolution");
+    }
+
+    List<TimeSeriesBucketDto> series =
+        bucketSize == InsightsResolution.HOUR
+            ? hourlySeries(boardId, start, end)
+            : dailySeries(boardId, start, end, bucketSize == InsightsResolution.WEEK);
+    return new InsightsTimeSeriesResponse(boardId, bucketSize.value(), start, end, series);
+  }
+
+  /** Views per source or device type over whole UTC days, read from the per-day dimension rollups. */
+  @Transactional(readOnly = true)
+  public InsightsBreakdownResponse getBreakdown(
+      String boardId, LocalDate from, LocalDate to, String dimension) {
+    if (!boardRepository.existsById(boardId)) {
+      throw new BoardNotFoundException(boardId);
+    }
+
+    InsightsDimension breakdownBy = InsightsDimension.parse(dimension);
+    LocalDate end = to == null ? LocalDate.now(ZoneOffset.UTC) : to;
+    LocalDate start = from == null ? end.minusDays(29) : from;
+    if (end.isBefore(start)) {
+      throw new InvalidInsightsQueryException("from must not be after to");
+    }
+    if (ChronoUnit.DAYS.between(start, end) + 1 > MAX_BREAKDOWN_DAYS) {
+      throw new InvalidInsightsQueryException(
+          "range must not exceed " + MAX_BREAKDOWN_DAYS + " days");
+    }
+
+    List<DimensionCountView> rows =
+        breakdownBy == InsightsDimension.SOURCE
+            ? boardViewSourceDailyRepository.sumBySourceForBoard(boardId, start, end)
+            : boardViewDeviceDailyRepository.sumByDeviceForBoard(boardId, start, end);
+    long totalViews = 0;
+    List<BreakdownEntryDto> entries = new ArrayList<>(rows.size());
+    for (DimensionCountView row : rows) {
+      totalViews += row.getViewCount();
+      entries.add(new BreakdownEntryDto(row.getName(), row.getViewCount()));
+    }
+    return new InsightsBreakdownResponse(
+        boardId, breakdownBy.value(), start, end, totalViews, entries);
+  }
+
+  private List<TimeSeriesBucketDto> hourlySeries(String boardId, LocalDate from, LocalDate to) {
+    Instant start = from.atStartOfDay().toInstant(ZoneOffset.UTC);
+    Instant end = to.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    Map<Instant, BoardActivityHourlyEntity> byHour = new HashMap<>();
+    for (BoardActivityHourlyEntity row :
+        boardActivityHourlyRepository
+            .findByBoardIdAndBucketStartGreaterThanEqualAndBucketStartLessThan(boardId, start, end)) {
+      byHour.put(row.getBucketStart(), row);
+    }
+
+    List<TimeSeriesBucketDto> series = new ArrayList<>();
+    for (Instant hour = start; hour.isBefore(end); hour = hour.plus(1, ChronoUnit.HOURS)) {
+      BoardActivityHourlyEntity row = byHour.get(hour);
+      series.add(
+          new TimeSeriesBucketDto(
+              hour, row == null ? 0 : row.getViewCount(), row == null ? 0 : row.getClickCount()));
+    }
+    return series;
+  }
+
+  private List<TimeSeriesBucketDto> dailySeries(
+      String boardId, LocalDate from, LocalDate to, boolean weekly) {
+    Map<LocalDate, Long> viewsByDay = new HashMap<>();
+    for (BoardViewDailyEntity row :
+        boardViewDailyRepository.findByBoardIdAndActivityDateBetween(boardId, from, to)) {
+      viewsByDay.put(row.getActivityDate(), row.getViewCount());
+    }
+    Map<LocalDate, Long> clicksByDay = new HashMap<>();
+    cardClickDailyRepository
+        .sumByDayForBoard(boardId, from, to)
+        .forEach(row -> clicksByDay.put(row.getActivityDate(), row.getClickCount()));
+
+    List<TimeSeriesBucketDto> series = new ArrayList<>();
+    LocalDate bucketStart =
+        weekly ? from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : from;
+    while (!bucketStart.isAfter(to)) {
+      LocalDate next = bucketStart.plusDays(weekly ? 7 : 1);
+      long views = 0;
+      long clicks = 0;
+      for (LocalDate day = bucketStart; day.isBefore(next); day = day.plusDays(1)) {
+        views += viewsByDay.getOrDefault(day, 0L);
+        clicks += clicksByDay.getOrDefault(day, 0L);
+      }
+      Instant startInstant = bucketStart.atStartOfDay().toInstant(ZoneOffset.UTC);
+      series.add(new TimeSeriesBucketDto(startInstant, views, clicks));
+      bucketStart = next;
+    }
+    return series;
+  }
+
+  private static boolean isClick(RecordEventRequest event, int index) {
+    String type = event.type() == null ? "" : event.type().trim().toLowerCase(Locale.ROOT);
+    return switch (type) {
+      case "click" -> true;
+      case "view" -> false;
+      default ->
+          throw new InvalidInsightsQueryException(
+              "events[" + index + "].type must be one of view, click");
+    };
+  }
+
+  /**
+   * Sources are free text from the client; anything past the column width is cut here, before the
+   * event is queued, so one oversized value cannot fail a batch that carries other events.
+   */
   private static String normalizeSource(String source) {
     if (source == null || source.isBlank()) {
       return "direct";
     }
-    return source.trim().toLowerCase();
+    return truncate(source.trim().toLowerCase());
+  }
+
+  private static String truncate(String value) {
+    if (value.length() <= MAX_DIMENSION_LENGTH) {
+      return value;
+    }
+    int end = MAX_DIMENSION_LENGTH;
+    if (Character.isHighSurrogate(value.charAt(end - 1))) {
+      end--;
+    }
+    return value.substring(0, end);
   }
 
   private static String resolveDeviceType(String userAgent) {
@@ -0,0 +1,7 @@
+package com.b26.backend.insights.domain;
+
+public class InsightsStreamCapacityException extends RuntimeException {
+  public InsightsStreamCapacityException() {
+    super("Too many live insights streams are open. Try again shortly.");
+  }
+}
@@ -0,0 +1,7 @@
+package com.b26.backend.insights.domain;
+
+public class InvalidInsightsQueryException extends RuntimeException {
+  public InvalidInsightsQueryException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,137 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.board.persistence.BoardEntity;
+import com.b26.backend.board.persistence.BoardRepository;
+import com.b26.backend.insights.api.CardInsightsDto;
+import com.b26.backend.insights.api.InsightsSummaryResponse;
+import com.b26.backend.insights.api.OwnerInsightsSummaryResponse;
+import com.b26.backend.insights.persistence.BoardViewDailyRepository;
+import com.b26.backend.insights.persistence.BoardViewDailyRepository.BoardViewTotalsView;
+import com.b26.backend.insights.persistence.BoardVisitorSketchEntity;
+import com.b26.backend.insights.persistence.BoardVisitorSketchRepository;
+import com.b26.backend.insights.persistence.CardClickDailyRepository;
+import com.b26.backend.insights.persistence.CardClickDailyRepository.BoardCardClickCountView;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Summaries for all boards of one owner from grouped rollup queries: one each for the boards, view
+ * totals, per-card click totals and visitor sketches, regardless of how many boards there are.
+ */
+@Service
+public class OwnerInsightsService {
+  private static final int TOP_CARDS = 5;
+
+  private final BoardRepository boardRepository;
+  private final BoardViewDailyRepository boardViewDailyRepository;
+  private final CardClickDailyRepository cardClickDailyRepository;
+  private final BoardVisitorSketchRepository boardVisitorSketchRepository;
+  private final TopClickedCardsTracker topClickedCardsTracker;
+
+  public OwnerInsightsService(
+      BoardRepository boardRepository,
+      BoardViewDailyRepository boardViewDailyRepository,
+      CardClickDailyRepository cardClickDailyRepository,
+      BoardVisitorSketchRepository boardVisitorSketchRepository,
+      TopClickedCardsTracker topClickedCardsTracker) {
+    this.boardRepository = boardRepository;
+    this.boardViewDailyRepository = boardViewDailyRepository;
+    this.cardClickDailyRepository = cardClickDailyRepository;
+    this.boardVisitorSketchRepository = boardVisitorSketchRepository;
+    this.topClickedCardsTracker = topClickedCardsTracker;
+  }
+
+  @Transactional(readOnly = true)
+  public OwnerInsightsSummaryResponse getSummaryForOwner(String ownerUserId) {
+    List<String> boardIds =
+        boardRepository.findByOwnerUserIdOrderByUpdatedAtDescBoardNameAsc(ownerUserId).stream()
+            .map(BoardEntity::getId)
+            .toList();
+    if (boardIds.isEmpty()) {
+      return new OwnerInsightsSummaryResponse(0, 0, 0, 0, 0, 0, List.of());
+    }
+
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    LocalDate since = today.minusDays(29);
+    Map<String, BoardViewTotalsView> views = new HashMap<>();
+    for (BoardViewTotalsView row :
+        boardViewDailyRepository.summarizeByBoard(boardIds, since, today)) {
+      views.put(row.getBoardId(), row);
+    }
+
+    // Rows arrive ordered by board, then clicks descending. Top cards come from the same tracker
+    // as the per-board summary, so both screens agree; these rows only seed boards it lacks.
+    Map<String, long[]> clickTotals = new HashMap<>();
+    Map<String, List<CardInsightsDto>> cardTotals = new HashMap<>();
+    for (BoardCardClickCountView row : cardClickDailyRepository.sumByCardForBoards(boardIds)) {
+      clickTotals.computeIfAbsent(row.getBoardId(), id -> new long[1])[0] += row.getClickCount();
+      cardTotals
+          .computeIfAbsent(row.getBoardId(), id -> new ArrayList<>())
+          .add(new CardInsightsDto(row.getCardId(), row.getClickCount()));
+    }
+    Map<String, List<CardInsightsDto>> topCards =
+        topClickedCardsTracker.topCards(boardIds, TOP_CARDS, cardTotals);
+
+    Map<String, HyperLogLog> visitorsToday = new HashMap<>();
+    Map<String, HyperLogLog> visitorsLast30Days = new HashMap<>();
+    for (BoardVisitorSketchEntity row :
+        boardVisitorSketchRepository.findByBoardIdInAndActivityDateBetween(
+            boardIds, since, today)) {
+      HyperLogLog sketch = HyperLogLog.fromBytes(row.getSketch());
+      visitorsLast30Days.computeIfAbsent(row.getBoardId(), id -> new HyperLogLog()).merge(sketch);
+      if (row.getActivityDate().equals(today)) {
+        visitorsToday.computeIfAbsent(row.getBoardId(), id -> new HyperLogLog()).merge(sketch);
+      }
+    }
+
+    List<InsightsSummaryResponse> boards = new ArrayList<>(boardIds.size());
+    long totalVisits = 0;
+    long visitsLast30Days = 0;
+    long visitsToday = 0;
+    long totalClicks = 0;
+    HyperLogLog ownerVisitorsToday = new HyperLogLog();
+    HyperLogLog ownerVisitorsLast30Days = new HyperLogLog();
+    for (String boardId : boardIds) {
+      BoardViewTotalsView boardViews = views.get(boardId);
+      long boardTotal = boardViews == null ? 0 : boardViews.getTotalViews();
+      long boardLast30Days = boardViews == null ? 0 : boardViews.getViewsSince();
+      long boardToday = boardViews == null ? 0 : boardViews.getViewsToday();
+      long boardClicks = clickTotals.getOrDefault(boardId, new long[1])[0];
+      HyperLogLog boardVisitorsToday = visitorsToday.getOrDefault(boardId, new HyperLogLog());
+      HyperLogLog boardVisitorsLast30Days =
+          visitorsLast30Days.getOrDefault(boardId, new HyperLogLog());
+      boards.add(
+          new InsightsSummaryResponse(
+              boardId,
+              boardTotal,
+              boardLast30Days,
+              boardToday,
+              boardClicks,
+              topCards.getOrDefault(boardId, List.of()),
+              boardVisitorsToday.estimate(),
+              boardVisitorsLast30Days.estimate()));
+
+      totalVisits += boardTotal;
+      visitsLast30Days += boardLast30Days;
+      visitsToday += boardToday;
+      totalClicks += boardClicks;
+      ownerVisitorsToday.merge(boardVisitorsToday);
+      ownerVisitorsLast30Days.merge(boardVisitorsLast30Days);
+    }
+
+    return new OwnerInsightsSummaryResponse(
+        totalVisits,
+        visitsLast30Days,
+        visitsToday,
+        totalClicks,
+        ownerVisitorsToday.estimate(),
+        ownerVisitorsLast30Days.estimate(),
+        boards);
+  }
+}
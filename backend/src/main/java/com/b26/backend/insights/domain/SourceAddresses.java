@@ -0,0 +1,51 @@
+package com.b26.backend.insights.domain;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/** Binary form of recorded client addresses: 4 or 16 bytes, or empty when not an IP literal. */
+final class SourceAddresses {
+  private static final byte[] UNKNOWN = new byte[0];
+
+  private SourceAddresses() {}
+
+  static byte[] toBytes(String address) {
+    if (address == null || address.isEmpty() || !isLiteral(address)) {
+      return UNKNOWN;
+    }
+    try {
+      return InetAddress.getByName(address).getAddress();
+    } catch (UnknownHostException exception) {
+      return UNKNOWN;
+    }
+  }
+
+  /** Textual form of a stored address, or {@code "unknown"} when none was recorded. */
+  static String toText(byte[] address) {
+    if (address == null || (address.length != 4 && address.length != 16)) {
+      return "unknown";
+    }
+    try {
+      return InetAddress.getByAddress(address).getHostAddress();
+    } catch (UnknownHostException exception) {
+      return "unknown";
+    }
+  }
+
+  // Only hex digits, dots and colons: InetAddress parses these itself instead of resolving them.
+  private static boolean isLiteral(String address) {
+    if (Character.digit(address.charAt(0), 16) == -1 && address.charAt(0) != ':') {
+      return false;
+    }
+    boolean hasSeparator = false;
+    for (int i = 0; i < address.length(); i++) {
+      char c = address.charAt(i);
+      if (c == '.' || c == ':') {
+        hasSeparator = true;
+      } else if (Character.digit(c, 16) == -1) {
+        return false;
+      }
+    }
+    return hasSeparator;
+  }
+}
@@ -0,0 +1,202 @@
+package com.b26.backend.insights.domain;
+
+import com.b26.backend.insights.api.CardInsightsDto;
+import com.b26.backend.insights.persistence.CardClickDailyRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-board Space-Saving heavy hitters over card clicks. Each board keeps at most {@code capacity}
+ * counters seeded from the daily rollups, so reported counts are upper bounds that are replaced by
+ * exact totals on every reconciliation pass. Only the {@code max-boards} most recently read boards
+ * are tracked; an evicted board is seeded again on its next read.
+ */
+@Component
+public class TopClickedCardsTracker {
+  private static final Comparator<Map.Entry<String, long[]>> BY_COUNT =
+      Comparator.<Map.Entry<String, long[]>>comparingLong(entry -> entry.getValue()[0])
+          .reversed()
+          .thenComparing(Map.Entry::getKey);
+
+  private final CardClickDailyRepository cardClickDailyRepository;
+  private final int capacity;
+  private final Map<String, BoardTopCards> boards;
+
+  public TopClickedCardsTracker(
+      CardClickDailyRepository cardClickDailyRepository,
+      @Value("${app.insights.top-cards.capacity:64}") int capacity,
+      @Value("${app.insights.top-cards.max-boards:1000}") int maxBoards) {
+    this.cardClickDailyRepository = cardClickDailyRepository;
+    this.capacity = Math.max(1, capacity);
+    int boardLimit = Math.max(1, maxBoards);
+    this.boards =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, BoardTopCards> eldest) {
+            return size() > boardLimit;
+          }
+        };
+  }
+
+  public List<CardInsightsDto> topCards(String boardId, int limit) {
+    BoardTopCards tracked = track(boardId);
+    tracked.ensureSeeded(() -> loadTotals(boardId));
+    return tracked.top(limit);
+  }
+
+  /**
+   * Top cards of several boards, so every screen reports the same tracked counts. Boards not
+   * tracked yet are seeded from {@code totals}, per-card click totals ordered by count descending
+   * that the caller already loaded for all boards in one query.
+   */
+  public Map<String, List<CardInsightsDto>> topCards(
+      List<String> boardIds, int limit, Map<String, List<CardInsightsDto>> totals) {
+    Map<String, List<CardInsightsDto>> top = new HashMap<>();
+    for (String boardId : boardIds) {
+      BoardTopCards tracked = track(boardId);
+      tracked.ensureSeeded(() -> totals.getOrDefault(boardId, List.of()));
+      top.put(boardId, tracked.top(limit));
+    }
+    return top;
+  }
+
+  /** Boards that have not been read yet are skipped; they are seeded from the rollups on demand. */
+  public void recordClicks(String boardId, String cardId, long count) {
+    BoardTopCards tracked;
+    synchronized (boards) {
+      tracked = boards.get(boardId);
+    }
+    if (tracked != null) {
+      tracked.offer(cardId, count);
+    }
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.insights.top-cards.reconcile-interval-ms:300000}",
+      fixedDelayString = "${app.insights.top-cards.reconcile-interval-ms:300000}")
+  public void reconcile() {
+    List<Map.Entry<String, BoardTopCards>> tracked;
+    synchronized (boards) {
+      tracked = new ArrayList<>(boards.entrySet());
+    }
+    for (Map.Entry<String, BoardTopCards> entry : tracked) {
+      entry.getValue().reseed(() -> loadTotals(entry.getKey()));
+    }
+  }
+
+  public void clear() {
+    synchronized (boards) {
+      boards.clear();
+    }
+  }
+
+  private BoardTopCards track(String boardId) {
+    synchronized (boards) {
+      return boards.computeIfAbsent(boardId, id -> new BoardTopCards(capacity));
+    }
+  }
+
+  private List<CardInsightsDto> loadTotals(String boardId) {
+    return cardClickDailyRepository
+        .sumByCardForBoard(boardId, PageRequest.of(0, capacity))
+        .stream()
+        .map(row -> new CardInsightsDto(row.getCardId(), row.getClickCount()))
+        .toList();
+  }
+
+  /**
+   * Counters of one board. A reseed never replaces the live counters with a snapshot: clicks offered
+   * while the rollup query runs are buffered and replayed on top of the fresh totals, so a click
+   * committed after the snapshot is never lost. One committed before it may be counted twice until
+   * the next reseed, which the upper-bound semantics already allow.
+   */
+  private static final class BoardTopCards {
+    private final int capacity;
+    private final Object seedLock = new Object();
+    // cardId -> {count, overestimation}
+    private Map<String, long[]> counters = new HashMap<>();
+    private Map<String, Long> offeredWhileSeeding;
+    private volatile boolean seeded;
+
+    BoardTopCards(int capacity) {
+      this.capacity = capacity;
+    }
+
+    void ensureSeeded(Supplier<List<CardInsightsDto>> totals) {
+      if (!seeded) {
+        reseed(totals);
+      }
+    }
+
+    void reseed(Supplier<List<CardInsightsDto>> totals) {
+      synchronized (seedLock) {
+        synchronized (this) {
+          offeredWhileSeeding = new HashMap<>();
+        }
+        List<CardInsightsDto> rows;
+        try {
+          rows = totals.get();
+        } catch (RuntimeException exception) {
+          synchronized (this) {
+            offeredWhileSeeding = null;
+          }
+          throw exception;
+        }
+        synchronized (this) {
+          Map<String, Long> offered = offeredWhileSeeding;
+          offeredWhileSeeding = null;
+          counters = new HashMap<>();
+          rows.stream().limit(capacity).forEach(row -> add(row.cardId(), row.clickCount()));
+          offered.forEach(this::add);
+          seeded = true;
+        }
+      }
+    }
+
+    synchronized void offer(String cardId, long count) {
+      if (offeredWhileSeeding != null) {
+        offeredWhileSeeding.merge(cardId, count, Long::sum);
+      }
+      add(cardId, count);
+    }
+
+    private void add(String cardId, long count) {
+      long[] counter = counters.get(cardId);
+      if (counter != null) {
+        counter[0] += count;
+        return;
+      }
+      if (counters.size() < capacity) {
+        counters.put(cardId, new long[] {count, 0});
+        return;
+      }
+      Map.Entry<String, long[]> smallest = null;
+      for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+        if (smallest == null || entry.getValue()[0] < smallest.getValue()[0]) {
+          smallest = entry;
+        }
+      }
+      long floor = smallest.getValue()[0];
+      counters.remove(smallest.getKey());
+      counters.put(cardId, new long[] {floor + count, floor});
+    }
+
+    synchronized List<CardInsightsDto> top(int limit) {
+      List<Map.Entry<String, long[]>> entries = new ArrayList<>(counters.entrySet());
+      entries.sort(BY_COUNT);
+      return entries.stream()
+          .limit(limit)
+          .map(entry -> new CardInsightsDto(entry.getKey(), entry.getValue()[0]))
+          .toList();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.b26.backend.insights.domain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Load shedding for view ingestion. While the ingestion queue or write latency is over its
+ * threshold the sampler doubles its weight (keeping one view in {@code weight}), and halves it
+ * again once both recover. A kept view carries the weight, so summed rollups stay unbiased.
+ */
+@Component
+public class ViewSampler {
+  private final InsightsIngestionBuffer ingestionBuffer;
+  private final boolean enabled;
+  private final double queueThreshold;
+  private final long latencyThresholdNanos;
+  private final int maxWeight;
+  private final Counter droppedCounter;
+
+  private volatile int weight = 1;
+
+  public ViewSampler(
+      InsightsIngestionBuffer ingestionBuffer,
+      MeterRegistry meterRegistry,
+      @Value("${app.insights.sampling.enabled:false}") boolean enabled,
+      @Value("${app.insights.sampling.queue-threshold:0.5}") double queueThreshold,
+      @Value("${app.insights.sampling.latency-threshold-ms:250}") long latencyThresholdMs,
+      @Value("${app.insights.sampling.max-weight:64}") int maxWeight) {
+    this.ingestionBuffer = ingestionBuffer;
+    this.enabled = enabled;
+    this.queueThreshold = queueThreshold;
+    this.latencyThresholdNanos = latencyThresholdMs * 1_000_000L;
+    this.maxWeight = Math.max(1, Math.min(Short.MAX_VALUE, maxWeight));
+
+    Gauge.builder("insights.sampling.view.weight", this, ViewSampler::getWeight)
+        .description("Views represented by each kept view (1 = no sampling)")
+        .register(meterRegistry);
+    this.droppedCounter =
+        Counter.builder("insights.sampling.view.dropped")
+            .description("Views left out by load-shedding sampling")
+            .register(meterRegistry);
+  }
+
+  /** Weight to record the view with, or 0 when it should be dropped. */
+  public int sample() {
+    int current = weight;
+    if (current == 1 || ThreadLocalRandom.current().nextInt(current) == 0) {
+      return current;
+    }
+    droppedCounter.increment();
+    return 0;
+  }
+
+  @Scheduled(fixedDelayString = "${app.insights.sampling.adjust-interval-ms:1000}")
+  public void adjust() {
+    if (!enabled) {
+      return;
+    }
+    boolean overloaded =
+        ingestionBuffer.getQueueUtilization() >= queueThreshold
+            || ingestionBuffer.getRecentWriteNanos() >= latencyThresholdNanos;
+    int current = weight;
+    weight = overloaded ? Math.min(maxWeight, current * 2) : Math.max(1, current / 2);
+  }
+
+  public int getWeight() {
+    return weight;
+  }
+
+  public void reset() {
+    weight = 1;
+  }
+}
@@ -0,0 +1,89 @@
+package com.b26.backend.insights.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Table(name = "board_activity_hourly")
+@IdClass(BoardActivityHourlyEntity.Key.class)
+public class BoardActivityHourlyEntity {
+  @Id
+  @Column(nullable = false)
+  private String boardId;
+
+  @Id
+  @Column(nullable = false)
+  private Instant bucketStart;
+
+  @Column(nullable = false)
+  private long viewCount;
+
+  @Column(nullable = false)
+  private long clickCount;
+
+  public String getBoardId() {
+    return boardId;
+  }
+
+  public void setBoardId(String boardId) {
+    this.boardId = boardId;
+  }
+
+  public Instant getBucketStart() {
+    return bucketStart;
+  }
+
+  public void setBucketStart(Instant bucketStart) {
+    this.bucketStart = bucketStart;
+  }
+
+  public long getViewCount() {
+    return viewCount;
+  }
+
+  public void setViewCount(long viewCount) {
+    this.viewCount = viewCount;
+  }
+
+  public long getClickCount() {
+    return clickCount;
+  }
+
+  public void setClickCount(long clickCount) {
+    this.clickCount = clickCount;
+  }
+
+  public static class Key implements Serializable {
+    private String boardId;
+    private Instant bucketStart;
+
+    public Key() {}
+
+    public Key(String boardId, Instant bucketStart) {
+      this.boardId = boardId;
+      this.bucketStart = bucketStart;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key key)) {
+        return false;
+      }
+      return Objects.equals(boardId, key.boardId) && Objects.equals(bucketStart, key.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(boardId, bucketStart);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.b26.backend.insights.persistence;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BoardActivityHourlyRepository
+    extends JpaRepository<BoardActivityHourlyEntity, BoardActivityHourlyEntity.Key> {
+  List<BoardActivityHourlyEntity> findByBoardIdAndBucketStartGreaterThanEqualAndBucketStartLessThan(
+      String boardId, Instant from, Instant to);
+}
@@ -0,0 +1,58 @@
+package com.b26.backend.insights.persistence;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BoardViewDailyRepository
+    extends JpaRepository<BoardViewDailyEntity, BoardViewDailyEntity.Key> {
+  @Query(
+      """
+      select coalesce(sum(v.viewCount), 0) as totalViews,
+             coalesce(sum(case when v.activityDate >= :since then v.viewCount else 0 end), 0)
+               as viewsSince,
+             coalesce(sum(case when v.activityDate = :today then v.viewCount else 0 end), 0)
+               as viewsToday
+      from BoardViewDailyEntity v
+      where v.boardId = :boardId
+      """)
+  ViewTotalsView summarizeForBoard(
+      @Param("boardId") String boardId,
+      @Param("since") LocalDate since,
+      @Param("today") LocalDate today);
+
+  @Query(
+      """
+      select v.boardId as boardId,
+             coalesce(sum(v.viewCount), 0) as totalViews,
+             coalesce(sum(case when v.activityDate >= :since then v.viewCount else 0 end), 0)
+               as viewsSince,
+             coalesce(sum(case when v.activityDate = :today then v.viewCount else 0 end), 0)
+               as viewsToday
+      from BoardViewDailyEntity v
+      where v.boardId in :boardIds
+      group by v.boardId
+      """)
+  List<BoardViewTotalsView> summarizeByBoard(
+      @Param("boardIds") Collection<String> boardIds,
+      @Param("since") LocalDate since,
+      @Param("today") LocalDate today);
+
+  List<BoardViewDailyEntity> findByBoardIdAndActivityDateBetween(
+      String boardId, LocalDate from, LocalDate to);
+
+  interface ViewTotalsView {
+    long getTotalViews();
+
+    long getViewsSince();
+
+    long getViewsToday();
+  }
+
+  interface BoardViewTotalsView extends ViewTotalsView {
+    String getBoardId();
+  }
+}
@@ -0,0 +1,24 @@
+package com.b26.backend.insights.persistence;
+
+import com.b26.backend.insights.persistence.BoardViewSourceDailyRepository.DimensionCountView;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BoardViewDeviceDailyRepository
+    extends JpaRepository<BoardViewDeviceDailyEntity, BoardViewDeviceDailyEntity.Key> {
+  @Query(
+      """
+      select d.name as name, sum(v.viewCount) as viewCount
+      from BoardViewDeviceDailyEntity v, EventDeviceTypeEntity d
+      where d.id = v.deviceCode
+        and v.boardId = :boardId
+        and v.activityDate between :from and :to
+      group by d.name
+      order by sum(v.viewCount) desc, d.name asc
+      """)
+  List<DimensionCountView> sumByDeviceForBoard(
+      @Param("boardId") String boardId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,94 @@
+package com.b26.backend.insights.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "board_view_source_daily")
+@IdClass(BoardViewSourceDailyEntity.Key.class)
+public class BoardViewSourceDailyEntity {
+  @Id
+  @Column(nullable = false)
+  private String boardId;
+
+  @Id
+  @Column(nullable = false)
+  private LocalDate activityDate;
+
+  @Id
+  @Column(nullable = false)
+  private short sourceCode;
+
+  @Column(nullable = false)
+  private long viewCount;
+
+  public String getBoardId() {
+    return boardId;
+  }
+
+  public void setBoardId(String boardId) {
+    this.boardId = boardId;
+  }
+
+  public LocalDate getActivityDate() {
+    return activityDate;
+  }
+
+  public void setActivityDate(LocalDate activityDate) {
+    this.activityDate = activityDate;
+  }
+
+  public short getSourceCode() {
+    return sourceCode;
+  }
+
+  public void setSourceCode(short sourceCode) {
+    this.sourceCode = sourceCode;
+  }
+
+  public long getViewCount() {
+    return viewCount;
+  }
+
+  public void setViewCount(long viewCount) {
+    this.viewCount = viewCount;
+  }
+
+  public static class Key implements Serializable {
+    private String boardId;
+    private LocalDate activityDate;
+    private short sourceCode;
+
+    public Key() {}
+
+    public Key(String boardId, LocalDate activityDate, short sourceCode) {
+      this.boardId = boardId;
+      this.activityDate = activityDate;
+      this.sourceCode = sourceCode;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key key)) {
+        return false;
+      }
+      return Objects.equals(boardId, key.boardId)
+          && Objects.equals(activityDate, key.activityDate)
+          && sourceCode == key.sourceCode;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(boardId, activityDate, sourceCode);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.b26.backend.insights.persistence;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BoardViewSourceDailyRepository
+    extends JpaRepository<BoardViewSourceDailyEntity, BoardViewSourceDailyEntity.Key> {
+  @Query(
+      """
+      select s.name as name, sum(v.viewCount) as viewCount
+      from BoardViewSourceDailyEntity v, EventSourceEntity s
+      where s.id = v.sourceCode
+        and v.boardId = :boardId
+        and v.activityDate between :from and :to
+      group by s.name
+      order by sum(v.viewCount) desc, s.name asc
+      """)
+  List<DimensionCountView> sumBySourceForBoard(
+      @Param("boardId") String boardId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  interface DimensionCountView {
+    String getName();
+
+    long getViewCount();
+  }
+}
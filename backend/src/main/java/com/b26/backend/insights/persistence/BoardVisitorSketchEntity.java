@@ -0,0 +1,78 @@
+package com.b26.backend.insights.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "board_visitor_sketches")
+@IdClass(BoardVisitorSketchEntity.Key.class)
+public class BoardVisitorSketchEntity {
+  @Id
+  @Column(nullable = false)
+  private String boardId;
+
+  @Id
+  @Column(nullable = false)
+  private LocalDate activityDate;
+
+  @Column(nullable = false, length = 4097)
+  private byte[] sketch;
+
+  public String getBoardId() {
+    return boardId;
+  }
+
+  public void setBoardId(String boardId) {
+    this.boardId = boardId;
+  }
+
+  public LocalDate getActivityDate() {
+    return activityDate;
+  }
+
+  public void setActivityDate(LocalDate activityDate) {
+    this.activityDate = activityDate;
+  }
+
+  public byte[] getSketch() {
+    return sketch;
+  }
+
+  public void setSketch(byte[] sketch) {
+    this.sketch = sketch;
+  }
+
+  public static class Key implements Serializable {
+    private String boardId;
+    private LocalDate activityDate;
+
+    public Key() {}
+
+    public Key(String boardId, LocalDate activityDate) {
+      this.boardId = boardId;
+      this.activityDate = activityDate;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key key)) {
+        return false;
+      }
+      return Objects.equals(boardId, key.boardId) && Objects.equals(activityDate, key.activityDate);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(boardId, activityDate);
+    }
+  }
+}
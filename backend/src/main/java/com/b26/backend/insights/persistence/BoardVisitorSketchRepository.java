@@ -0,0 +1,15 @@
+package com.b26.backend.insights.persistence;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BoardVisitorSketchRepository
+    extends JpaRepository<BoardVisitorSketchEntity, BoardVisitorSketchEntity.Key> {
+  List<BoardVisitorSketchEntity> findByBoardIdAndActivityDateBetween(
+      String boardId, LocalDate from, LocalDate to);
+
+  List<BoardVisitorSketchEntity> findByBoardIdInAndActivityDateBetween(
+      Collection<String> boardIds, LocalDate from, LocalDate to);
+}
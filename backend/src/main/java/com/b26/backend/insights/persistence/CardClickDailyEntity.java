@@ -0,0 +1,94 @@
+package com.b26.backend.insights.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "card_click_daily")
+@IdClass(CardClickDailyEntity.Key.class)
+public class CardClickDailyEntity {
+  @Id
+  @Column(nullable = false)
+  private String boardId;
+
+  @Id
+  @Column(nullable = false)
+  private String cardId;
+
+  @Id
+  @Column(nullable = false)
+  private LocalDate activityDate;
+
+  @Column(nullable = false)
+  private long clickCount;
+
+  public String getBoardId() {
+    return boardId;
+  }
+
+  public void setBoardId(String boardId) {
+    this.boardId = boardId;
+  }
+
+  public String getCardId() {
+    return cardId;
+  }
+
+  public void setCardId(String cardId) {
+    this.cardId = cardId;
+  }
+
+  public LocalDate getActivityDate() {
+    return activityDate;
+  }
+
+  public void setActivityDate(LocalDate activityDate) {
+    this.activityDate = activityDate;
+  }
+
+  public long getClickCount() {
+    return clickCount;
+  }
+
+  public void setClickCount(long clickCount) {
+    this.clickCount = clickCount;
+  }
+
+  public static class Key implements Serializable {
+    private String boardId;
+    private String cardId;
+    private LocalDate activityDate;
+
+    public Key() {}
+
+    public Key(String boardId, String cardId, LocalDate activityDate) {
+      this.boardId = boardId;
+      this.cardId = cardId;
+      this.activityDate = activityDate;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key key)) {
+        return false;
+      }
+      return Objects.equals(boardId, key.boardId)
+          && Objects.equals(cardId, key.cardId)
+          && Objects.equals(activityDate, key.activityDate);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(boardId, cardId, activityDate);
+    }
+  }
+}
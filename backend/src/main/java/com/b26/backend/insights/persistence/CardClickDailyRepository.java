@@ -0,0 +1,79 @@
+package com.b26.backend.insights.persistence;
+
+import com.b26.backend.insights.persistence.ClickEventRepository.CardClickCountView;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CardClickDailyRepository
+    extends JpaRepository<CardClickDailyEntity, CardClickDailyEntity.Key> {
+  @Query(
+      """
+      select coalesce(sum(c.clickCount), 0)
+      from CardClickDailyEntity c
+      where c.boardId = :boardId
+      """)
+  long sumClicksForBoard(@Param("boardId") String boardId);
+
+  @Query(
+      """
+      select c.cardId as cardId, sum(c.clickCount) as clickCount
+      from CardClickDailyEntity c
+      where c.boardId = :boardId
+      group by c.cardId
+      order by sum(c.clickCount) desc, c.cardId asc
+      """)
+  List<CardClickCountView> sumByCardForBoard(@Param("boardId") String boardId);
+
+  @Query(
+      """
+      select c.cardId as cardId, sum(c.clickCount) as clickCount
+      from CardClickDailyEntity c
+      where c.boardId = :boardId
+      group by c.cardId
+      order by sum(c.clickCount) desc, c.cardId asc
+      """)
+  List<CardClickCountView> sumByCardForBoard(@Param("boardId") String boardId, Pageable pageable);
+
+  @Query(
+      """
+      select c.boardId as boardId, c.cardId as cardId, sum(c.clickCount) as clickCount
+      from CardClickDailyEntity c
+      where c.boardId in :boardIds
+      group by c.boardId, c.cardId
+      order by c.boardId asc, sum(c.clickCount) desc, c.cardId asc
+      """)
+  List<BoardCardClickCountView> sumByCardForBoards(
+      @Param("boardIds") Collection<String> boardIds);
+
+  @Query(
+      """
+      select c.activityDate as activityDate, sum(c.clickCount) as clickCount
+      from CardClickDailyEntity c
+      where c.boardId = :boardId and c.activityDate between :from and :to
+      group by c.activityDate
+      """)
+  List<DailyClickCountView> sumByDayForBoard(
+      @Param("boardId") String boardId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  List<CardClickDailyEntity> findByBoardIdAndActivityDateBetween(
+      String boardId, LocalDate from, LocalDate to);
+
+  interface BoardCardClickCountView {
+    String getBoardId();
+
+    String getCardId();
+
+    long getClickCount();
+  }
+
+  interface DailyClickCountView {
+    LocalDate getActivityDate();
+
+    long getClickCount();
+  }
+}
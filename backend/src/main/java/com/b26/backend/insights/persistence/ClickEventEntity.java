@@ -16,35 +16,24 @@ public class ClickEventEntity {
   private Long id;
 
   @Column(nullable = false)
-  private String boardId;
-
-  @Column(nullable = false)
-  private String cardId;
+  private int cardKey;
 
   @Column(nullable = false)
   private Instant occurredAt;
 
-  @Column(nullable = false)
-  private String sourceIp;
+  @Column(nullable = false, length = 16)
+  private byte[] sourceIp;
 
   public Long getId() {
     return id;
   }
 
-  public String getBoardId() {
-    return boardId;
-  }
-
-  public void setBoardId(String boardId) {
-    this.boardId = boardId;
-  }
-
-  public String getCardId() {
-    return cardId;
+  public int getCardKey() {
+    return cardKey;
   }
 
-  public void setCardId(String cardId) {
-    this.cardId = cardId;
+  public void setCardKey(int cardKey) {
+    this.cardKey = cardKey;
   }
 
   public Instant getOccurredAt() {
@@ -55,11 +44,11 @@ public class ClickEventEntity {
     this.occurredAt = occurredAt;
   }
 
-  public String getSourceIp() {
+  public byte[] getSourceIp() {
     return sourceIp;
   }
 
-  public void setSourceIp(String sourceIp) {
+  public void setSourceIp(byte[] sourceIp) {
     this.sourceIp = sourceIp;
   }
 }
@@ -1,22 +1,22 @@
 package com.b26.backend.insights.persistence;
 
+import java.time.Instant;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface ClickEventRepository extends JpaRepository<ClickEventEntity, Long> {
-  long countByBoardId(String boardId);
-
   @Query(
       """
-      select c.cardId as cardId, count(c) as clickCount
-      from ClickEventEntity c
-      where c.boardId = :boardId
-      group by c.cardId
-      order by count(c) desc, c.cardId asc
+      select ec.cardId as cardId, count(c) as clickCount
+      from ClickEventEntity c, EventCardEntity ec, EventBoardEntity b
+      where c.cardKey = ec.id and ec.boardKey = b.id and b.boardId = :boardId
+      and c.occurredAt >= :from and c.occurredAt < :to
+      group by ec.cardId
       """)
-  List<CardClickCountView> countByCardForBoard(@Param("boardId") String boardId);
+  List<CardClickCountView> countByCardForBoardBetween(
+      @Param("boardId") String boardId, @Param("from") Instant from, @Param("to") Instant to);
 
   interface CardClickCountView {
     String getCardId();
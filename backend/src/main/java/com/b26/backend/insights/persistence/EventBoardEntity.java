@@ -0,0 +1,31 @@
+package com.b26.backend.insights.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(
+    name = "event_boards",
+    uniqueConstraints =
+        @UniqueConstraint(name = "uk_event_boards_board_id", columnNames = "board_id"))
+public class EventBoardEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  @Column(nullable = false)
+  private String boardId;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public String getBoardId() {
+    return boardId;
+  }
+}
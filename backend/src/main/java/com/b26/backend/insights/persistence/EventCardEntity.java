@@ -0,0 +1,40 @@
+package com.b26.backend.insights.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(
+    name = "event_cards",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_event_cards_board_card",
+            columnNames = {"board_key", "card_id"}))
+public class EventCardEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  @Column(nullable = false)
+  private int boardKey;
+
+  @Column(nullable = false)
+  private String cardId;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public int getBoardKey() {
+    return boardKey;
+  }
+
+  public String getCardId() {
+    return cardId;
+  }
+}
@@ -0,0 +1,31 @@
+package com.b26.backend.insights.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(
+    name = "event_device_types",
+    uniqueConstraints =
+        @UniqueConstraint(name = "uk_event_device_types_name", columnNames = "name"))
+public class EventDeviceTypeEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Short id;
+
+  @Column(nullable = false)
+  private String name;
+
+  public Short getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+}
@@ -0,0 +1,45 @@
+package com.b26.backend.insights.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Table(name = "insights_compaction_state")
+public class InsightsCompactionStateEntity {
+  @Id
+  @Column(nullable = false)
+  private String boardId;
+
+  @Column(nullable = false)
+  private Instant compactedBefore;
+
+  @Column(nullable = false)
+  private Instant updatedAt;
+
+  public String getBoardId() {
+    return boardId;
+  }
+
+  public void setBoardId(String boardId) {
+    this.boardId = boardId;
+  }
+
+  public Instant getCompactedBefore() {
+    return compactedBefore;
+  }
+
+  public void setCompactedBefore(Instant compactedBefore) {
+    this.compactedBefore = compactedBefore;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(Instant updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+}
@@ -0,0 +1,326 @@
+package com.b26.backend.insights.persistence;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class InsightsEventBatchRepository {
+  private static final String INSERT_VIEW =
+      """
+      insert into view_events
+        (board_key, occurred_at, source_ip, source_code, device_code, weight)
+      values (?, ?, ?, ?, ?, ?)
+      """;
+  private static final String INSERT_CLICK =
+      """
+      insert into click_events (card_key, occurred_at, source_ip)
+      values (?, ?, ?)
+      """;
+  private static final String ENSURE_BOARD_VIEW_DAILY =
+      """
+      insert into board_view_daily (board_id, activity_date, view_count)
+      values (?, ?, 0)
+      on conflict do nothing
+      """;
+  private static final String INCREMENT_BOARD_VIEW_DAILY =
+      """
+      update board_view_daily
+      set view_count = view_count + ?
+      where board_id = ? and activity_date = ?
+      """;
+  private static final String ENSURE_BOARD_VIEW_SOURCE_DAILY =
+      """
+      insert into board_view_source_daily (board_id, activity_date, source_code, view_count)
+      values (?, ?, ?, 0)
+      on conflict do nothing
+      """;
+  private static final String INCREMENT_BOARD_VIEW_SOURCE_DAILY =
+      """
+      update board_view_source_daily
+      set view_count = view_count + ?
+      where board_id = ? and activity_date = ? and source_code = ?
+      """;
+  private static final String ENSURE_BOARD_VIEW_DEVICE_DAILY =
+      """
+      insert into board_view_device_daily (board_id, activity_date, device_code, view_count)
+      values (?, ?, ?, 0)
+      on conflict do nothing
+      """;
+  private static final String INCREMENT_BOARD_VIEW_DEVICE_DAILY =
+      """
+      update board_view_device_daily
+      set view_count = view_count + ?
+      where board_id = ? and activity_date = ? and device_code = ?
+      """;
+  private static final String ENSURE_CARD_CLICK_DAILY =
+      """
+      insert into card_click_daily (board_id, card_id, activity_date, click_count)
+      values (?, ?, ?, 0)
+      on conflict do nothing
+      """;
+  private static final String INCREMENT_CARD_CLICK_DAILY =
+      """
+      update card_click_daily
+      set click_count = click_count + ?
+      where board_id = ? and card_id = ? and activity_date = ?
+      """;
+  private static final String ENSURE_BOARD_ACTIVITY_HOURLY =
+      """
+      insert into board_activity_hourly (board_id, bucket_start, view_count, click_count)
+      values (?, ?, 0, 0)
+      on conflict do nothing
+      """;
+  private static final String INCREMENT_BOARD_ACTIVITY_HOURLY =
+      """
+      update board_activity_hourly
+      set view_count = view_count + ?, click_count = click_count + ?
+      where board_id = ? and bucket_start = ?
+      """;
+  private static final String ENSURE_VISITOR_SKETCH =
+      """
+      insert into board_visitor_sketches (board_id, activity_date, sketch)
+      values (?, ?, ?)
+      on conflict do nothing
+      """;
+  private static final String LOCK_VISITOR_SKETCH =
+      """
+      select sketch from board_visitor_sketches
+      where board_id = ? and activity_date = ?
+      for update
+      """;
+  private static final String UPDATE_VISITOR_SKETCH =
+      """
+      update board_visitor_sketches
+      set sketch = ?
+      where board_id = ? and activity_date = ?
+      """;
+  private static final String BOARDS_WITH_EVENTS_BEFORE =
+      """
+      select b.board_id from event_boards b
+      where exists (
+        select 1 from view_events v where v.board_key = b.id and v.occurred_at < ?)
+      or exists (
+        select 1 from click_events c
+        join event_cards ec on ec.id = c.card_key
+        where ec.board_key = b.id and c.occurred_at < ?)
+      """;
+  private static final String DELETE_VIEW_EVENTS_BEFORE =
+      """
+      delete from view_events
+      where (id, occurred_at) in (
+        select id, occurred_at from view_events
+        where board_key = (select id from event_boards where board_id = ?)
+        and occurred_at < ?
+        order by occurred_at
+        limit ?)
+      """;
+  private static final String DELETE_CLICK_EVENTS_BEFORE =
+      """
+      delete from click_events
+      where (id, occurred_at) in (
+        select id, occurred_at from click_events
+        where card_key in (
+          select ec.id from event_cards ec
+          join event_boards b on b.id = ec.board_key
+          where b.board_id = ?)
+        and occurred_at < ?
+        order by occurred_at
+        limit ?)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public InsightsEventBatchRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void insertViewEvents(List<ViewEventEntity> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_VIEW,
+        events,
+        events.size(),
+        (statement, event) -> {
+          statement.setInt(1, event.getBoardKey());
+          statement.setObject(2, OffsetDateTime.ofInstant(event.getOccurredAt(), ZoneOffset.UTC));
+          statement.setBytes(3, event.getSourceIp());
+          statement.setShort(4, event.getSourceCode());
+          statement.setShort(5, event.getDeviceCode());
+          statement.setShort(6, event.getWeight());
+        });
+  }
+
+  public void insertClickEvents(List<ClickEventEntity> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_CLICK,
+        events,
+        events.size(),
+        (statement, event) -> {
+          statement.setInt(1, event.getCardKey());
+          statement.setObject(2, OffsetDateTime.ofInstant(event.getOccurredAt(), ZoneOffset.UTC));
+          statement.setBytes(3, event.getSourceIp());
+        });
+  }
+
+  public void incrementBoardViewDaily(List<BoardDayDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        ENSURE_BOARD_VIEW_DAILY,
+        deltas,
+        deltas.size(),
+        (statement, delta) -> {
+          statement.setString(1, delta.boardId());
+          statement.setObject(2, delta.activityDate());
+        });
+    jdbcTemplate.batchUpdate(
+        INCREMENT_BOARD_VIEW_DAILY,
+        deltas,
+        deltas.size(),
+        (statement, delta) -> {
+          statement.setLong(1, delta.count());
+          statement.setString(2, delta.boardId());
+          statement.setObject(3, delta.activityDate());
+        });
+  }
+
+  public void incrementBoardViewSourceDaily(List<DimensionDayDelta> deltas) {
+    incrementDimensionDaily(
+        ENSURE_BOARD_VIEW_SOURCE_DAILY, INCREMENT_BOARD_VIEW_SOURCE_DAILY, deltas);
+  }
+
+  public void incrementBoardViewDeviceDaily(List<DimensionDayDelta> deltas) {
+    incrementDimensionDaily(
+        ENSURE_BOARD_VIEW_DEVICE_DAILY, INCREMENT_BOARD_VIEW_DEVICE_DAILY, deltas);
+  }
+
+  private void incrementDimensionDaily(
+      String ensureSql, String incrementSql, List<DimensionDayDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        ensureSql,
+        deltas,
+        deltas.size(),
+        (statement, delta) -> {
+          statement.setString(1, delta.boardId());
+          statement.setObject(2, delta.activityDate());
+          statement.setShort(3, delta.code());
+        });
+    jdbcTemplate.batchUpdate(
+        incrementSql,
+        deltas,
+        deltas.size(),
+        (statement, delta) -> {
+          statement.setLong(1, delta.count());
+          statement.setString(2, delta.boardId());
+          statement.setObject(3, delta.activityDate());
+          statement.setShort(4, delta.code());
+        });
+  }
+
+  public void incrementCardClickDaily(List<CardDayDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        ENSURE_CARD_CLICK_DAILY,
+        deltas,
+        deltas.size(),
+        (statement, delta) -> {
+          statement.setString(1, delta.boardId());
+          statement.setString(2, delta.cardId());
+          statement.setObject(3, delta.activityDate());
+        });
+    jdbcTemplate.batchUpdate(
+        INCREMENT_CARD_CLICK_DAILY,
+        deltas,
+        deltas.size(),
+        (statement, delta) -> {
+          statement.setLong(1, delta.count());
+          statement.setString(2, delta.boardId());
+          statement.setString(3, delta.cardId());
+          statement.setObject(4, delta.activityDate());
+        });
+  }
+
+  public void incrementBoardActivityHourly(List<BoardHourDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        ENSURE_BOARD_ACTIVITY_HOURLY,
+        deltas,
+        deltas.size(),
+        (statement, delta) -> {
+          statement.setString(1, delta.boardId());
+          statement.setObject(2, OffsetDateTime.ofInstant(delta.bucketStart(), ZoneOffset.UTC));
+        });
+    jdbcTemplate.batchUpdate(
+        INCREMENT_BOARD_ACTIVITY_HOURLY,
+        deltas,
+        deltas.size(),
+        (statement, delta) -> {
+          statement.setLong(1, delta.views());
+          statement.setLong(2, delta.clicks());
+          statement.setString(3, delta.boardId());
+          statement.setObject(4, OffsetDateTime.ofInstant(delta.bucketStart(), ZoneOffset.UTC));
+        });
+  }
+
+  /**
+   * Read-modify-write of one board/day visitor sketch under a row lock; {@code merge} receives the
+   * stored bytes and returns the bytes to persist.
+   */
+  public void mergeVisitorSketch(
+      String boardId, LocalDate activityDate, byte[] empty, UnaryOperator<byte[]> merge) {
+    jdbcTemplate.update(ENSURE_VISITOR_SKETCH, boardId, activityDate, empty);
+    byte[] stored =
+        jdbcTemplate.queryForObject(
+            LOCK_VISITOR_SKETCH, (rs, rowNum) -> rs.getBytes(1), boardId, activityDate);
+    jdbcTemplate.update(UPDATE_VISITOR_SKETCH, merge.apply(stored), boardId, activityDate);
+  }
+
+  public List<String> findBoardsWithEventsBefore(Instant cutoff) {
+    OffsetDateTime bound = OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC);
+    return jdbcTemplate.queryForList(BOARDS_WITH_EVENTS_BEFORE, String.class, bound, bound);
+  }
+
+  public int deleteViewEventsBefore(String boardId, Instant cutoff, int limit) {
+    return jdbcTemplate.update(
+        DELETE_VIEW_EVENTS_BEFORE,
+        boardId,
+        OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC),
+        limit);
+  }
+
+  public int deleteClickEventsBefore(String boardId, Instant cutoff, int limit) {
+    return jdbcTemplate.update(
+        DELETE_CLICK_EVENTS_BEFORE,
+        boardId,
+        OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC),
+        limit);
+  }
+
+  public record BoardDayDelta(String boardId, LocalDate activityDate, long count) {}
+
+  public record DimensionDayDelta(
+      String boardId, LocalDate activityDate, short code, long count) {}
+
+  public record CardDayDelta(String boardId, String cardId, LocalDate activityDate, long count) {}
+
+  public record BoardHourDelta(String boardId, Instant bucketStart, long views, long clicks) {}
+}
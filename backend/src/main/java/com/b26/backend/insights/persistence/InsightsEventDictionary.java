@@ -0,0 +1,181 @@
+package com.b26.backend.insights.persistence;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Resolves board ids, card ids, sources and device types to the surrogate keys stored on raw event
+ * rows. New entries are committed in their own transaction so a cached key never refers to a row
+ * that a rolled-back event batch took with it; callers resolve keys before opening the batch
+ * transaction, so a cold key never waits for a second pooled connection.
+ */
+@Component
+public class InsightsEventDictionary {
+  /** Distinct sources kept before new ones are recorded as {@link #OVERFLOW_SOURCE}. */
+  public static final int MAX_SOURCES = 1024;
+
+  public static final String OVERFLOW_SOURCE = "other";
+
+  /** Board and card keys kept in memory; the least recently used are looked up again. */
+  private static final int MAX_CACHED_BOARDS = 10_000;
+
+  private static final int MAX_CACHED_CARDS = 100_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate newTransaction;
+  private final Map<String, Integer> boardKeys = lru(MAX_CACHED_BOARDS);
+  private final Map<CardName, Integer> cardKeys = lru(MAX_CACHED_CARDS);
+  private final Map<String, Short> sourceCodes = new ConcurrentHashMap<>();
+  private final Map<String, Short> deviceCodes = new ConcurrentHashMap<>();
+  private volatile boolean sourcesFull;
+
+  public InsightsEventDictionary(
+      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  public int boardKey(String boardId) {
+    Integer key = boardKeys.get(boardId);
+    if (key == null) {
+      key =
+          resolve(
+              "insert into event_boards (board_id) values (?) on conflict do nothing",
+              "select id from event_boards where board_id = ?",
+              boardId);
+      boardKeys.putIfAbsent(boardId, key);
+    }
+    return key;
+  }
+
+  public int cardKey(String boardId, String cardId) {
+    int boardKey = boardKey(boardId);
+    CardName name = new CardName(boardKey, cardId);
+    Integer key = cardKeys.get(name);
+    if (key == null) {
+      key =
+          resolve(
+              "insert into event_cards (board_key, card_id) values (?, ?) on conflict do nothing",
+              "select id from event_cards where board_key = ? and card_id = ?",
+              boardKey,
+              cardId);
+      cardKeys.putIfAbsent(name, key);
+    }
+    return key;
+  }
+
+  /**
+   * Once the table is full every stored source is cached and the flag is set, so a long tail of new
+   * sources maps to {@link #OVERFLOW_SOURCE} without any query.
+   */
+  public short sourceCode(String source) {
+    Short code = sourceCodes.get(source);
+    if (code != null) {
+      return code;
+    }
+    if (sourcesFull) {
+      return overflowSourceCode();
+    }
+    Integer existing = findId("select id from event_sources where name = ?", source);
+    if (existing == null && countSources() >= MAX_SOURCES) {
+      cacheAllSources();
+      code = sourceCodes.get(source);
+      return code != null ? code : overflowSourceCode();
+    }
+    code = existing != null ? existing.shortValue() : resolveSource(source);
+    sourceCodes.putIfAbsent(source, code);
+    return code;
+  }
+
+  public short deviceCode(String deviceType) {
+    Short code = deviceCodes.get(deviceType);
+    if (code == null) {
+      code =
+          (short)
+              resolve(
+                  "insert into event_device_types (name) values (?) on conflict do nothing",
+                  "select id from event_device_types where name = ?",
+                  deviceType);
+      deviceCodes.putIfAbsent(deviceType, code);
+    }
+    return code;
+  }
+
+  public void clear() {
+    boardKeys.clear();
+    cardKeys.clear();
+    sourceCodes.clear();
+    deviceCodes.clear();
+    sourcesFull = false;
+  }
+
+  private short overflowSourceCode() {
+    Short code = sourceCodes.get(OVERFLOW_SOURCE);
+    if (code == null) {
+      code = resolveSource(OVERFLOW_SOURCE);
+      sourceCodes.putIfAbsent(OVERFLOW_SOURCE, code);
+    }
+    return code;
+  }
+
+  private void cacheAllSources() {
+    jdbcTemplate.query(
+        "select id, name from event_sources",
+        row -> {
+          sourceCodes.putIfAbsent(row.getString("name"), row.getShort("id"));
+        });
+    sourcesFull = true;
+  }
+
+  private short resolveSource(String source) {
+    return (short)
+        resolve(
+            "insert into event_sources (name) values (?) on conflict do nothing",
+            "select id from event_sources where name = ?",
+            source);
+  }
+
+  private int countSources() {
+    Integer count = jdbcTemplate.queryForObject("select count(*) from event_sources", Integer.class);
+    return count == null ? 0 : count;
+  }
+
+  private static <K> Map<K, Integer> lru(int maxEntries) {
+    return Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<K, Integer> eldest) {
+            return size() > maxEntries;
+          }
+        });
+  }
+
+  private Integer findId(String selectSql, Object... args) {
+    List<Integer> ids = jdbcTemplate.queryForList(selectSql, Integer.class, args);
+    return ids.isEmpty() ? null : ids.get(0);
+  }
+
+  private int resolve(String insertSql, String selectSql, Object... args) {
+    Integer id =
+        newTransaction.execute(
+            status -> {
+              jdbcTemplate.update(insertSql, args);
+              return jdbcTemplate.queryForObject(selectSql, Integer.class, args);
+            });
+    if (id == null) {
+      throw new IllegalStateException("Could not resolve insights dictionary entry");
+    }
+    return id;
+  }
+
+  private record CardName(int boardKey, String cardId) {}
+}
@@ -0,0 +1,93 @@
+package com.b26.backend.insights.persistence;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads raw events for export row by row. Results are fetched through a server-side cursor in
+ * pages of {@link #FETCH_SIZE}, which on Postgres requires the caller to hold a transaction.
+ */
+@Repository
+public class InsightsEventExportRepository {
+  private static final int FETCH_SIZE = 1000;
+  private static final String VIEW_EVENTS =
+      """
+      select v.occurred_at, s.name as source, d.name as device_type, v.source_ip, v.weight
+      from view_events v
+      join event_boards b on b.id = v.board_key
+      join event_sources s on s.id = v.source_code
+      join event_device_types d on d.id = v.device_code
+      where b.board_id = ? and v.occurred_at >= ? and v.occurred_at < ?
+      order by v.occurred_at, v.id
+      """;
+  private static final String CLICK_EVENTS =
+      """
+      select c.occurred_at, ec.card_id, c.source_ip
+      from click_events c
+      join event_cards ec on ec.id = c.card_key
+      join event_boards b on b.id = ec.board_key
+      where b.board_id = ? and c.occurred_at >= ? and c.occurred_at < ?
+      order by c.occurred_at, c.id
+      """;
+
+  private final JdbcTemplate cursorTemplate;
+
+  public InsightsEventExportRepository(DataSource dataSource) {
+    this.cursorTemplate = new JdbcTemplate(dataSource);
+    this.cursorTemplate.setFetchSize(FETCH_SIZE);
+  }
+
+  public void forEachViewEvent(
+      String boardId, Instant from, Instant to, Consumer<ExportedEvent> consumer) {
+    cursorTemplate.query(
+        VIEW_EVENTS,
+        resultSet -> {
+          consumer.accept(
+              new ExportedEvent(
+                  "view",
+                  resultSet.getObject(1, OffsetDateTime.class).toInstant(),
+                  null,
+                  resultSet.getString(2),
+                  resultSet.getString(3),
+                  resultSet.getBytes(4),
+                  resultSet.getInt(5)));
+        },
+        boardId,
+        OffsetDateTime.ofInstant(from, ZoneOffset.UTC),
+        OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+  }
+
+  public void forEachClickEvent(
+      String boardId, Instant from, Instant to, Consumer<ExportedEvent> consumer) {
+    cursorTemplate.query(
+        CLICK_EVENTS,
+        resultSet -> {
+          consumer.accept(
+              new ExportedEvent(
+                  "click",
+                  resultSet.getObject(1, OffsetDateTime.class).toInstant(),
+                  resultSet.getString(2),
+                  null,
+                  null,
+                  resultSet.getBytes(3),
+                  1));
+        },
+        boardId,
+        OffsetDateTime.ofInstant(from, ZoneOffset.UTC),
+        OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+  }
+
+  public record ExportedEvent(
+      String type,
+      Instant occurredAt,
+      String cardId,
+      String source,
+      String deviceType,
+      byte[] sourceIp,
+      int weight) {}
+}
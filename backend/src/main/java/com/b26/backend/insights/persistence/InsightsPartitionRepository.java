@@ -0,0 +1,60 @@
+package com.b26.backend.insights.persistence;
+
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class InsightsPartitionRepository {
+  public static final List<String> PARTITIONED_TABLES = List.of("view_events", "click_events");
+
+  private static final String LIST_PARTITIONS =
+      """
+      select child.relname
+      from pg_inherits
+      join pg_class parent on parent.oid = pg_inherits.inhparent
+      join pg_class child on child.oid = pg_inherits.inhrelid
+      where parent.relname = ?
+      order by child.relname
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public InsightsPartitionRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public boolean isSupported() {
+    String product =
+        jdbcTemplate.execute(
+            (ConnectionCallback<String>)
+                connection -> {
+                  DatabaseMetaData metaData = connection.getMetaData();
+                  return metaData.getDatabaseProductName();
+                });
+    return product != null && product.toLowerCase(Locale.ROOT).contains("postgresql");
+  }
+
+  public void ensureMonthPartition(String table, LocalDate monthStart) {
+    jdbcTemplate.queryForList(
+        "select insights_ensure_month_partition(?, ?)", table, monthStart.withDayOfMonth(1));
+  }
+
+  public List<String> listPartitions(String table) {
+    return jdbcTemplate.queryForList(LIST_PARTITIONS, String.class, table);
+  }
+
+  public void detachAndDropPartition(String table, String partition) {
+    jdbcTemplate.execute(
+        "alter table " + quote(table) + " detach partition " + quote(partition));
+    jdbcTemplate.execute("drop table " + quote(partition));
+  }
+
+  private static String quote(String identifier) {
+    return '"' + identifier.replace("\"", "\"\"") + '"';
+  }
+}
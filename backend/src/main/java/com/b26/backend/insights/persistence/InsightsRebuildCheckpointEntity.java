@@ -0,0 +1,106 @@
+package com.b26.backend.insights.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "insights_rebuild_checkpoints")
+@IdClass(InsightsRebuildCheckpointEntity.Key.class)
+public class InsightsRebuildCheckpointEntity {
+  @Id
+  @Column(nullable = false, length = 64)
+  private String runId;
+
+  @Id
+  @Column(nullable = false)
+  private String boardId;
+
+  @Id
+  @Column(nullable = false)
+  private LocalDate chunkStart;
+
+  @Column(nullable = false)
+  private LocalDate chunkEnd;
+
+  @Column(nullable = false)
+  private Instant completedAt;
+
+  public String getRunId() {
+    return runId;
+  }
+
+  public void setRunId(String runId) {
+    this.runId = runId;
+  }
+
+  public String getBoardId() {
+    return boardId;
+  }
+
+  public void setBoardId(String boardId) {
+    this.boardId = boardId;
+  }
+
+  public LocalDate getChunkStart() {
+    return chunkStart;
+  }
+
+  public void setChunkStart(LocalDate chunkStart) {
+    this.chunkStart = chunkStart;
+  }
+
+  public LocalDate getChunkEnd() {
+    return chunkEnd;
+  }
+
+  public void setChunkEnd(LocalDate chunkEnd) {
+    this.chunkEnd = chunkEnd;
+  }
+
+  public Instant getCompletedAt() {
+    return completedAt;
+  }
+
+  public void setCompletedAt(Instant completedAt) {
+    this.completedAt = completedAt;
+  }
+
+  public static class Key implements Serializable {
+    private String runId;
+    private String boardId;
+    private LocalDate chunkStart;
+
+    public Key() {}
+
+    public Key(String runId, String boardId, LocalDate chunkStart) {
+      this.runId = runId;
+      this.boardId = boardId;
+      this.chunkStart = chunkStart;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key key)) {
+        return false;
+      }
+      return Objects.equals(runId, key.runId)
+          && Objects.equals(boardId, key.boardId)
+          && Objects.equals(chunkStart, key.chunkStart);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(runId, boardId, chunkStart);
+    }
+  }
+}
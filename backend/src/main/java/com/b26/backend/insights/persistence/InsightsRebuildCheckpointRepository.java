@@ -0,0 +1,6 @@
+package com.b26.backend.insights.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface InsightsRebuildCheckpointRepository
+    extends JpaRepository<InsightsRebuildCheckpointEntity, InsightsRebuildCheckpointEntity.Key> {}
@@ -0,0 +1,199 @@
+package com.b26.backend.insights.persistence;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Recomputes the rollups of one board and day range from the raw events. Each rebuild deletes the
+ * rollup rows in the range and re-inserts them from a grouped scan, so callers must keep ingestion
+ * and compaction away from the range while the surrounding transaction is open.
+ */
+@Repository
+public class InsightsRollupRebuildRepository {
+  private static final String FIND_EVENT_BOARDS =
+      """
+      select id, board_id from event_boards order by board_id
+      """;
+  private static final String FIRST_VIEW_AT =
+      """
+      select min(occurred_at) from view_events where board_key = ?
+      """;
+  private static final String FIRST_CLICK_AT =
+      """
+      select min(c.occurred_at) from click_events c
+      join event_cards ec on ec.id = c.card_key
+      where ec.board_key = ?
+      """;
+  private static final String DELETE_BOARD_VIEW_DAILY =
+      """
+      delete from board_view_daily where board_id = ? and activity_date between ? and ?
+      """;
+  private static final String REBUILD_BOARD_VIEW_DAILY =
+      """
+      insert into board_view_daily (board_id, activity_date, view_count)
+      select ?, cast(v.occurred_at at time zone 'UTC' as date), sum(v.weight)
+      from view_events v
+      where v.board_key = ? and v.occurred_at >= ? and v.occurred_at < ?
+      group by cast(v.occurred_at at time zone 'UTC' as date)
+      """;
+  private static final String DELETE_BOARD_VIEW_SOURCE_DAILY =
+      """
+      delete from board_view_source_daily where board_id = ? and activity_date between ? and ?
+      """;
+  private static final String REBUILD_BOARD_VIEW_SOURCE_DAILY =
+      """
+      insert into board_view_source_daily (board_id, activity_date, source_code, view_count)
+      select ?, cast(v.occurred_at at time zone 'UTC' as date), v.source_code, sum(v.weight)
+      from view_events v
+      where v.board_key = ? and v.occurred_at >= ? and v.occurred_at < ?
+      group by cast(v.occurred_at at time zone 'UTC' as date), v.source_code
+      """;
+  private static final String DELETE_BOARD_VIEW_DEVICE_DAILY =
+      """
+      delete from board_view_device_daily where board_id = ? and activity_date between ? and ?
+      """;
+  private static final String REBUILD_BOARD_VIEW_DEVICE_DAILY =
+      """
+      insert into board_view_device_daily (board_id, activity_date, device_code, view_count)
+      select ?, cast(v.occurred_at at time zone 'UTC' as date), v.device_code, sum(v.weight)
+      from view_events v
+      where v.board_key = ? and v.occurred_at >= ? and v.occurred_at < ?
+      group by cast(v.occurred_at at time zone 'UTC' as date), v.device_code
+      """;
+  private static final String DELETE_CARD_CLICK_DAILY =
+      """
+      delete from card_click_daily where board_id = ? and activity_date between ? and ?
+      """;
+  private static final String REBUILD_CARD_CLICK_DAILY =
+      """
+      insert into card_click_daily (board_id, card_id, activity_date, click_count)
+      select ?, ec.card_id, cast(c.occurred_at at time zone 'UTC' as date), count(*)
+      from click_events c
+      join event_cards ec on ec.id = c.card_key
+      where ec.board_key = ? and c.occurred_at >= ? and c.occurred_at < ?
+      group by ec.card_id, cast(c.occurred_at at time zone 'UTC' as date)
+      """;
+  private static final String DELETE_BOARD_ACTIVITY_HOURLY =
+      """
+      delete from board_activity_hourly where board_id = ? and bucket_start >= ? and bucket_start < ?
+      """;
+  private static final String REBUILD_BOARD_ACTIVITY_HOURLY =
+      """
+      insert into board_activity_hourly (board_id, bucket_start, view_count, click_count)
+      select ?, bucket_start, sum(view_count), sum(click_count)
+      from (
+        select date_trunc('hour', v.occurred_at at time zone 'UTC') at time zone 'UTC'
+                 as bucket_start,
+               v.weight as view_count,
+               0 as click_count
+        from view_events v
+        where v.board_key = ? and v.occurred_at >= ? and v.occurred_at < ?
+        union all
+        select date_trunc('hour', c.occurred_at at time zone 'UTC') at time zone 'UTC'
+                 as bucket_start,
+               0 as view_count,
+               1 as click_count
+        from click_events c
+        join event_cards ec on ec.id = c.card_key
+        where ec.board_key = ? and c.occurred_at >= ? and c.occurred_at < ?
+      ) events
+      group by bucket_start
+      """;
+  private static final String SELECT_VISITORS =
+      """
+      select v.occurred_at, v.source_ip
+      from view_events v
+      where v.board_key = ? and v.occurred_at >= ? and v.occurred_at < ?
+      """;
+  private static final String DELETE_VISITOR_SKETCHES =
+      """
+      delete from board_visitor_sketches where board_id = ? and activity_date between ? and ?
+      """;
+  private static final String INSERT_VISITOR_SKETCH =
+      """
+      insert into board_visitor_sketches (board_id, activity_date, sketch)
+      values (?, ?, ?)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public InsightsRollupRebuildRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public List<EventBoard> findEventBoards() {
+    return jdbcTemplate.query(
+        FIND_EVENT_BOARDS, (rs, rowNum) -> new EventBoard(rs.getInt(1), rs.getString(2)));
+  }
+
+  public Optional<Instant> findFirstEventAt(int boardKey) {
+    OffsetDateTime firstView =
+        jdbcTemplate.queryForObject(FIRST_VIEW_AT, OffsetDateTime.class, boardKey);
+    OffsetDateTime firstClick =
+        jdbcTemplate.queryForObject(FIRST_CLICK_AT, OffsetDateTime.class, boardKey);
+    if (firstView == null || (firstClick != null && firstClick.isBefore(firstView))) {
+      firstView = firstClick;
+    }
+    return Optional.ofNullable(firstView).map(OffsetDateTime::toInstant);
+  }
+
+  /** Replaces the daily, per-dimension and hourly rollups of the board for {@code from..to}. */
+  public void rebuildCounters(EventBoard board, LocalDate from, LocalDate to) {
+    OffsetDateTime start = startOf(from);
+    OffsetDateTime end = startOf(to.plusDays(1));
+    String boardId = board.boardId();
+    int boardKey = board.id();
+
+    jdbcTemplate.update(DELETE_BOARD_VIEW_DAILY, boardId, from, to);
+    jdbcTemplate.update(REBUILD_BOARD_VIEW_DAILY, boardId, boardKey, start, end);
+    jdbcTemplate.update(DELETE_BOARD_VIEW_SOURCE_DAILY, boardId, from, to);
+    jdbcTemplate.update(REBUILD_BOARD_VIEW_SOURCE_DAILY, boardId, boardKey, start, end);
+    jdbcTemplate.update(DELETE_BOARD_VIEW_DEVICE_DAILY, boardId, from, to);
+    jdbcTemplate.update(REBUILD_BOARD_VIEW_DEVICE_DAILY, boardId, boardKey, start, end);
+    jdbcTemplate.update(DELETE_CARD_CLICK_DAILY, boardId, from, to);
+    jdbcTemplate.update(REBUILD_CARD_CLICK_DAILY, boardId, boardKey, start, end);
+    jdbcTemplate.update(DELETE_BOARD_ACTIVITY_HOURLY, boardId, start, end);
+    jdbcTemplate.update(
+        REBUILD_BOARD_ACTIVITY_HOURLY, boardId, boardKey, start, end, boardKey, start, end);
+  }
+
+  /** Streams the UTC day and binary source address of every view of the board in the range. */
+  public void forEachVisitor(
+      EventBoard board, LocalDate from, LocalDate to, VisitorCallback callback) {
+    jdbcTemplate.query(
+        SELECT_VISITORS,
+        rs -> {
+          callback.accept(
+              rs.getObject(1, OffsetDateTime.class).atZoneSameInstant(ZoneOffset.UTC).toLocalDate(),
+              rs.getBytes(2));
+        },
+        board.id(),
+        startOf(from),
+        startOf(to.plusDays(1)));
+  }
+
+  public void replaceVisitorSketches(
+      String boardId, LocalDate from, LocalDate to, Map<LocalDate, byte[]> sketches) {
+    jdbcTemplate.update(DELETE_VISITOR_SKETCHES, boardId, from, to);
+    sketches.forEach(
+        (day, sketch) -> jdbcTemplate.update(INSERT_VISITOR_SKETCH, boardId, day, sketch));
+  }
+
+  private static OffsetDateTime startOf(LocalDate day) {
+    return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+  }
+
+  public record EventBoard(int id, String boardId) {}
+
+  @FunctionalInterface
+  public interface VisitorCallback {
+    void accept(LocalDate activityDate, byte[] sourceIp);
+  }
+}
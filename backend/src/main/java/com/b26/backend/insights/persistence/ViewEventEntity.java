@@ -16,30 +16,33 @@ public class ViewEventEntity {
   private Long id;
 
   @Column(nullable = false)
-  private String boardId;
+  private int boardKey;
 
   @Column(nullable = false)
   private Instant occurredAt;
 
+  @Column(nullable = false, length = 16)
+  private byte[] sourceIp;
+
   @Column(nullable = false)
-  private String sourceIp;
+  private short sourceCode;
 
   @Column(nullable = false)
-  private String source;
+  private short deviceCode;
 
   @Column(nullable = false)
-  private String deviceType;
+  private short weight = 1;
 
   public Long getId() {
     return id;
   }
 
-  public String getBoardId() {
-    return boardId;
+  public int getBoardKey() {
+    return boardKey;
   }
 
-  public void setBoardId(String boardId) {
-    this.boardId = boardId;
+  public void setBoardKey(int boardKey) {
+    this.boardKey = boardKey;
   }
 
   public Instant getOccurredAt() {
@@ -50,27 +53,35 @@ public class ViewEventEntity {
     this.occurredAt = occurredAt;
   }
 
-  public String getSourceIp() {
+  public byte[] getSourceIp() {
     return sourceIp;
   }
 
-  public void setSourceIp(String sourceIp) {
+  public void setSourceIp(byte[] sourceIp) {
     this.sourceIp = sourceIp;
   }
 
-  public String getSource() {
-    return source;
+  public short getSourceCode() {
+    return sourceCode;
+  }
+
+  public void setSourceCode(short sourceCode) {
+    this.sourceCode = sourceCode;
+  }
+
+  public short getDeviceCode() {
+    return deviceCode;
   }
 
-  public void setSource(String source) {
-    this.source = source;
+  public void setDeviceCode(short deviceCode) {
+    this.deviceCode = deviceCode;
   }
 
-  public String getDeviceType() {
-    return deviceType;
+  public short getWeight() {
+    return weight;
   }
 
-  public void setDeviceType(String deviceType) {
-    this.deviceType = deviceType;
+  public void setWeight(short weight) {
+    this.weight = weight;
   }
 }
@@ -2,9 +2,17 @@ package com.b26.backend.insights.persistence;
 
 import java.time.Instant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ViewEventRepository extends JpaRepository<ViewEventEntity, Long> {
-  long countByBoardId(String boardId);
-
-  long countByBoardIdAndOccurredAtGreaterThanEqual(String boardId, Instant occurredAt);
+  @Query(
+      """
+      select coalesce(sum(v.weight), 0)
+      from ViewEventEntity v, EventBoardEntity b
+      where v.boardKey = b.id and b.boardId = :boardId
+      and v.occurredAt >= :from and v.occurredAt < :to
+      """)
+  long sumWeightForBoardBetween(
+      @Param("boardId") String boardId, @Param("from") Instant from, @Param("to") Instant to);
 }
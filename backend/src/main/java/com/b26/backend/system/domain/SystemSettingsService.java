@@ -8,6 +8,9 @@ import com.b26.backend.system.api.UpdateSystemRoutesRequest;
 import com.b26.backend.system.persistence.SystemSettingsEntity;
 import com.b26.backend.system.persistence.SystemSettingsRepository;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,10 +30,17 @@ public class SystemSettingsService {
   @Transactional(readOnly = true)
   public SystemRoutesDto getRoutes() {
     SystemSettingsEntity settings = getOrCreateDefaults();
-    BoardEntity homepageBoard = findBoardById(settings.getGlobalHomepageBoardId());
-    BoardEntity insightsBoard = findBoardById(settings.getGlobalInsightsBoardId());
-    BoardEntity settingsBoard = findBoardById(settings.getGlobalSettingsBoardId());
-    BoardEntity signinBoard = findBoardById(settings.getGlobalSigninBoardId());
+    Map<String, BoardEntity> boards =
+        findBoardsById(
+            List.of(
+                settings.getGlobalHomepageBoardId(),
+                settings.getGlobalInsightsBoardId(),
+                settings.getGlobalSettingsBoardId(),
+                settings.getGlobalSigninBoardId()));
+    BoardEntity homepageBoard = boards.get(settings.getGlobalHomepageBoardId());
+    BoardEntity insightsBoard = boards.get(settings.getGlobalInsightsBoardId());
+    BoardEntity settingsBoard = boards.get(settings.getGlobalSettingsBoardId());
+    BoardEntity signinBoard = boards.get(settings.getGlobalSigninBoardId());
     return new SystemRoutesDto(
         homepageBoard.getId(),
         homepageBoard.getBoardUrl(),
@@ -92,6 +102,19 @@ public class SystemSettingsService {
     return findBoardById(requested.trim());
   }
 
+  private Map<String, BoardEntity> findBoardsById(List<String> boardIds) {
+    Map<String, BoardEntity> boards = new HashMap<>();
+    for (BoardEntity board : boardRepository.findAllById(boardIds)) {
+      boards.put(board.getId(), board);
+    }
+    for (String boardId : boardIds) {
+      if (!boards.containsKey(boardId)) {
+        throw new BoardNotFoundException(boardId);
+      }
+    }
+    return boards;
+  }
+
   private BoardEntity findBoardById(String boardId) {
     return boardRepository.findById(boardId).orElseThrow(() -> new BoardNotFoundException(boardId));
   }
@@ -1,9 +1,12 @@
 package com.b26.backend.widget.api;
 
+import com.b26.backend.board.api.BoardJsonResponses;
+import com.b26.backend.board.domain.BoardService;
 import com.b26.backend.widget.domain.WidgetService;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,19 +16,26 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/board")
 public class WidgetController {
   private final WidgetService widgetService;
+  private final BoardService boardService;
 
-  public WidgetController(WidgetService widgetService) {
+  public WidgetController(WidgetService widgetService, BoardService boardService) {
     this.widgetService = widgetService;
+    this.boardService = boardService;
   }
 
+  // Widget writes touch the board row, so the board's version tag also versions its widgets.
   @GetMapping("/{boardId}/widgets")
-  public List<WidgetDto> getWidgets(@PathVariable String boardId) {
-    return widgetService.getWidgetsForBoard(boardId);
+  public ResponseEntity<byte[]> getWidgets(@PathVariable String boardId, WebRequest request) {
+    return BoardJsonResponses.ok(
+        request,
+        () -> boardService.getVersionTag(boardId),
+        versionTag -> widgetService.getWidgetsPayload(boardId, versionTag));
   }
 
   @PostMapping("/{boardId}/widgets")
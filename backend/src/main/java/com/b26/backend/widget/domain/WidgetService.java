@@ -1,6 +1,9 @@
 package com.b26.backend.widget.domain;
 
 import com.b26.backend.board.domain.BoardNotFoundException;
+import com.b26.backend.board.domain.BoardReadCache;
+import com.b26.backend.board.domain.BoardPayload;
+import com.b26.backend.board.domain.BoardSnapshot;
 import com.b26.backend.board.persistence.BoardEntity;
 import com.b26.backend.board.persistence.BoardRepository;
 import com.b26.backend.widget.api.SyncWidgetsRequest;
@@ -18,31 +21,50 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class WidgetService {
   private final WidgetRepository widgetRepository;
   private final BoardRepository boardRepository;
   private final ObjectMapper objectMapper;
+  private final BoardReadCache readCache;
+  private final TransactionTemplate readOnlyTransaction;
 
   public WidgetService(
       WidgetRepository widgetRepository,
       BoardRepository boardRepository,
-      ObjectMapper objectMapper) {
+      ObjectMapper objectMapper,
+      BoardReadCache readCache,
+      PlatformTransactionManager transactionManager) {
     this.widgetRepository = widgetRepository;
     this.boardRepository = boardRepository;
     this.objectMapper = objectMapper;
+    this.readCache = readCache;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
   }
 
-  @Transactional(readOnly = true)
-  public List<WidgetDto> getWidgetsForBoard(String boardId) {
-    BoardEntity board = findBoardByUrl(boardId);
+  /** The board's widgets as cached JSON and gzip bytes; {@code versionTag} as for the board. */
+  public BoardSnapshot<BoardPayload> getWidgetsPayload(String boardId, String versionTag) {
+    return readCache.widgets(
+        boardId, versionTag, url -> readOnlyTransaction.execute(status -> loadWidgets(url)));
+  }
+
+  /** Widgets of an already loaded board, in display order. */
+  public List<WidgetDto> getWidgets(BoardEntity board) {
     return widgetRepository.findByBoard_IdOrderBySortOrderAsc(board.getId()).stream()
         .map(this::toDto)
         .toList();
   }
 
+  private BoardSnapshot<List<WidgetDto>> loadWidgets(String boardUrl) {
+    BoardEntity board = findBoardByUrl(boardUrl);
+    return new BoardSnapshot<>(board.versionTag(), getWidgets(board));
+  }
+
   @Transactional
   public WidgetDto createWidget(String boardId, UpsertWidgetRequest request) {
     BoardEntity board = findBoardByUrl(boardId);
@@ -53,6 +75,7 @@ public class WidgetService {
     applyRequest(widget, request);
     widget.setBoard(board);
     board.setUpdatedAt(OffsetDateTime.now());
+    readCache.invalidateWidgets(board.getBoardUrl());
     return toDto(widgetRepository.save(widget));
   }
 
@@ -68,6 +91,7 @@ public class WidgetService {
             .orElseThrow(() -> new WidgetNotFoundForBoardException(boardId, widgetId));
     applyRequest(widget, request);
     board.setUpdatedAt(OffsetDateTime.now());
+    readCache.invalidateWidgets(board.getBoardUrl());
     return toDto(widgetRepository.save(widget));
   }
 
@@ -80,6 +104,7 @@ public class WidgetService {
             .orElseThrow(() -> new WidgetNotFoundForBoardException(boardId, widgetId));
     widgetRepository.delete(widget);
     board.setUpdatedAt(OffsetDateTime.now());
+    readCache.invalidateWidgets(board.getBoardUrl());
   }
 
   @Transactional
@@ -120,6 +145,7 @@ public class WidgetService {
     }
 
     board.setUpdatedAt(OffsetDateTime.now());
+    readCache.invalidateWidgets(board.getBoardUrl());
     return widgetRepository.findByBoard_IdOrderBySortOrderAsc(board.getId()).stream()
         .map(this::toDto)
         .toList();
@@ -0,0 +1,26 @@
+create table if not exists board_view_daily (
+  board_id varchar(255) not null,
+  activity_date date not null,
+  view_count bigint not null,
+  primary key (board_id, activity_date)
+);
+
+create table if not exists card_click_daily (
+  board_id varchar(255) not null,
+  card_id varchar(255) not null,
+  activity_date date not null,
+  click_count bigint not null,
+  primary key (board_id, card_id, activity_date)
+);
+
+insert into board_view_daily (board_id, activity_date, view_count)
+select board_id, (occurred_at at time zone 'UTC')::date, count(*)
+from view_events
+group by board_id, (occurred_at at time zone 'UTC')::date
+on conflict do nothing;
+
+insert into card_click_daily (board_id, card_id, activity_date, click_count)
+select board_id, card_id, (occurred_at at time zone 'UTC')::date, count(*)
+from click_events
+group by board_id, card_id, (occurred_at at time zone 'UTC')::date
+on conflict do nothing;
@@ -0,0 +1,25 @@
+create table if not exists board_activity_hourly (
+  board_id varchar(255) not null,
+  bucket_start timestamp with time zone not null,
+  view_count bigint not null,
+  click_count bigint not null,
+  primary key (board_id, bucket_start)
+);
+
+insert into board_activity_hourly (board_id, bucket_start, view_count, click_count)
+select board_id, bucket_start, sum(view_count), sum(click_count)
+from (
+  select board_id,
+         date_trunc('hour', occurred_at at time zone 'UTC') at time zone 'UTC' as bucket_start,
+         1 as view_count,
+         0 as click_count
+  from view_events
+  union all
+  select board_id,
+         date_trunc('hour', occurred_at at time zone 'UTC') at time zone 'UTC' as bucket_start,
+         0 as view_count,
+         1 as click_count
+  from click_events
+) events
+group by board_id, bucket_start
+on conflict do nothing;
@@ -0,0 +1,6 @@
+create table if not exists board_visitor_sketches (
+  board_id varchar(255) not null,
+  activity_date date not null,
+  sketch bytea not null,
+  primary key (board_id, activity_date)
+);
@@ -0,0 +1,92 @@
+-- Move raw insight events to monthly range partitions on occurred_at (UTC months).
+-- Partitions are named <table>_pYYYYMM; the application creates future months ahead
+-- of time and enforces retention by detaching and dropping whole partitions.
+
+create or replace function insights_ensure_month_partition(parent text, month_start date)
+returns void
+language plpgsql
+as $$
+declare
+  lower_bound timestamptz := (date_trunc('month', month_start::timestamp) at time zone 'UTC');
+  upper_bound timestamptz := ((date_trunc('month', month_start::timestamp) + interval '1 month') at time zone 'UTC');
+  partition_name text := parent || '_p' || to_char(month_start, 'YYYYMM');
+begin
+  execute format(
+    'create table if not exists %I partition of %I for values from (%L) to (%L)',
+    partition_name, parent, lower_bound, upper_bound);
+end;
+$$;
+
+alter table click_events rename to click_events_legacy;
+alter table view_events rename to view_events_legacy;
+alter index if exists idx_click_events_board rename to idx_click_events_legacy_board;
+alter index if exists idx_click_events_board_card rename to idx_click_events_legacy_board_card;
+alter index if exists idx_click_events_board_occurred rename to idx_click_events_legacy_board_occurred;
+alter index if exists idx_view_events_board rename to idx_view_events_legacy_board;
+alter index if exists idx_view_events_board_occurred rename to idx_view_events_legacy_board_occurred;
+
+create sequence if not exists click_events_event_id_seq;
+create sequence if not exists view_events_event_id_seq;
+
+create table click_events (
+  id bigint not null default nextval('click_events_event_id_seq'),
+  board_id varchar(255) not null,
+  card_id varchar(255) not null,
+  occurred_at timestamp with time zone not null,
+  source_ip varchar(255) not null,
+  primary key (id, occurred_at)
+) partition by range (occurred_at);
+
+create table view_events (
+  id bigint not null default nextval('view_events_event_id_seq'),
+  board_id varchar(255) not null,
+  occurred_at timestamp with time zone not null,
+  source_ip varchar(255) not null,
+  source varchar(255) not null,
+  device_type varchar(255) not null,
+  primary key (id, occurred_at)
+) partition by range (occurred_at);
+
+alter sequence click_events_event_id_seq owned by click_events.id;
+alter sequence view_events_event_id_seq owned by view_events.id;
+
+create index if not exists idx_click_events_board_occurred on click_events(board_id, occurred_at);
+create index if not exists idx_click_events_board_card on click_events(board_id, card_id);
+create index if not exists idx_view_events_board_occurred on view_events(board_id, occurred_at);
+
+do $$
+declare
+  first_month date;
+  last_month date := (date_trunc('month', now() at time zone 'UTC') + interval '2 months')::date;
+  month_start date;
+begin
+  select date_trunc('month', min(occurred_at) at time zone 'UTC')::date
+  into first_month
+  from (
+    select occurred_at from click_events_legacy
+    union all
+    select occurred_at from view_events_legacy
+  ) events;
+
+  month_start := coalesce(first_month, date_trunc('month', now() at time zone 'UTC')::date);
+  while month_start <= last_month loop
+    perform insights_ensure_month_partition('click_events', month_start);
+    perform insights_ensure_month_partition('view_events', month_start);
+    month_start := (month_start + interval '1 month')::date;
+  end loop;
+end;
+$$;
+
+insert into click_events (id, board_id, card_id, occurred_at, source_ip)
+select id, board_id, card_id, occurred_at, source_ip
+from click_events_legacy;
+
+insert into view_events (id, board_id, occurred_at, source_ip, source, device_type)
+select id, board_id, occurred_at, source_ip, source, device_type
+from view_events_legacy;
+
+select setval('click_events_event_id_seq', coalesce((select max(id) from click_events), 0) + 1, false);
+select setval('view_events_event_id_seq', coalesce((select max(id) from view_events), 0) + 1, false);
+
+drop table click_events_legacy;
+drop table view_events_legacy;
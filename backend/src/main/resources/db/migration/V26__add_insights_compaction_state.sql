@@ -0,0 +1,5 @@
+create table if not exists insights_compaction_state (
+  board_id varchar(255) primary key,
+  compacted_before timestamp with time zone not null,
+  updated_at timestamp with time zone not null
+);
@@ -0,0 +1,150 @@
+-- Store raw insight events against integer surrogates and small dictionary codes, with source
+-- IPs as 4- or 16-byte binary addresses (empty when the recorded value was not an address).
+
+create table if not exists event_boards (
+  id integer generated by default as identity primary key,
+  board_id varchar(255) not null,
+  constraint uk_event_boards_board_id unique (board_id)
+);
+
+create table if not exists event_cards (
+  id integer generated by default as identity primary key,
+  board_key integer not null references event_boards(id),
+  card_id varchar(255) not null,
+  constraint uk_event_cards_board_card unique (board_key, card_id)
+);
+
+create table if not exists event_sources (
+  id smallint generated by default as identity primary key,
+  name varchar(255) not null,
+  constraint uk_event_sources_name unique (name)
+);
+
+create table if not exists event_device_types (
+  id smallint generated by default as identity primary key,
+  name varchar(255) not null,
+  constraint uk_event_device_types_name unique (name)
+);
+
+create or replace function insights_ip_to_bytes(ip text)
+returns bytea
+language plpgsql
+immutable
+as $$
+declare
+  addr inet;
+  text_form text;
+  embedded inet;
+  head text[];
+  tail text[];
+  groups text[];
+begin
+  begin
+    addr := ip::inet;
+  exception when others then
+    return ''::bytea;
+  end;
+
+  if family(addr) = 4 then
+    return substring(int8send(addr - '0.0.0.0'::inet) from 5 for 4);
+  end if;
+
+  text_form := host(addr);
+  if position('.' in text_form) > 0 then
+    embedded := substring(text_form from '([0-9.]+)$')::inet;
+    text_form := left(text_form, length(text_form) - length(host(embedded)))
+      || to_hex(((embedded - '0.0.0.0'::inet) >> 16)::int)
+      || ':'
+      || to_hex(((embedded - '0.0.0.0'::inet) & 65535)::int);
+  end if;
+
+  if position('::' in text_form) > 0 then
+    head := case when split_part(text_form, '::', 1) = '' then '{}'::text[]
+                 else string_to_array(split_part(text_form, '::', 1), ':') end;
+    tail := case when split_part(text_form, '::', 2) = '' then '{}'::text[]
+                 else string_to_array(split_part(text_form, '::', 2), ':') end;
+    groups := head
+      || array_fill('0'::text, array[8 - cardinality(head) - cardinality(tail)])
+      || tail;
+  else
+    groups := string_to_array(text_form, ':');
+  end if;
+
+  return decode(
+    (select string_agg(lpad(part, 4, '0'), '' order by position)
+     from unnest(groups) with ordinality as g(part, position)),
+    'hex');
+end;
+$$;
+
+insert into event_boards (board_id)
+select board_id from view_events
+union
+select board_id from click_events
+on conflict do nothing;
+
+insert into event_cards (board_key, card_id)
+select distinct b.id, c.card_id
+from click_events c
+join event_boards b on b.board_id = c.board_id
+on conflict do nothing;
+
+insert into event_sources (name)
+select distinct source from view_events
+on conflict do nothing;
+
+insert into event_device_types (name)
+select distinct device_type from view_events
+on conflict do nothing;
+
+alter table view_events
+  add column board_key integer,
+  add column source_code smallint,
+  add column device_code smallint,
+  add column source_address bytea;
+
+update view_events v
+set board_key = b.id,
+    source_code = s.id,
+    device_code = d.id,
+    source_address = insights_ip_to_bytes(v.source_ip)
+from event_boards b, event_sources s, event_device_types d
+where b.board_id = v.board_id
+  and s.name = v.source
+  and d.name = v.device_type;
+
+alter table click_events
+  add column card_key integer,
+  add column source_address bytea;
+
+update click_events c
+set card_key = ec.id,
+    source_address = insights_ip_to_bytes(c.source_ip)
+from event_boards b
+join event_cards ec on ec.board_key = b.id
+where b.board_id = c.board_id
+  and ec.card_id = c.card_id;
+
+alter table view_events
+  drop column board_id,
+  drop column source,
+  drop column device_type,
+  drop column source_ip;
+alter table view_events rename column source_address to source_ip;
+alter table view_events
+  alter column board_key set not null,
+  alter column source_code set not null,
+  alter column device_code set not null,
+  alter column source_ip set not null;
+
+alter table click_events
+  drop column board_id,
+  drop column card_id,
+  drop column source_ip;
+alter table click_events rename column source_address to source_ip;
+alter table click_events
+  alter column card_key set not null,
+  alter column source_ip set not null;
+
+create index if not exists idx_view_events_board_key_occurred on view_events(board_key, occurred_at);
+create index if not exists idx_click_events_card_key_occurred on click_events(card_key, occurred_at);
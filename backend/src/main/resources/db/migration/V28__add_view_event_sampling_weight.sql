@@ -0,0 +1,3 @@
+-- Views kept by load-shedding sampling stand for weight views each; rollups add the weight.
+alter table view_events
+  add column if not exists weight smallint not null default 1;
@@ -0,0 +1,31 @@
+-- Per-day view counts by source and by device type, keyed by the dictionary codes from V27.
+create table if not exists board_view_source_daily (
+  board_id varchar(255) not null,
+  activity_date date not null,
+  source_code smallint not null,
+  view_count bigint not null,
+  primary key (board_id, activity_date, source_code)
+);
+
+create table if not exists board_view_device_daily (
+  board_id varchar(255) not null,
+  activity_date date not null,
+  device_code smallint not null,
+  view_count bigint not null,
+  primary key (board_id, activity_date, device_code)
+);
+
+-- Only raw events that survived compaction can be backfilled.
+insert into board_view_source_daily (board_id, activity_date, source_code, view_count)
+select b.board_id, (v.occurred_at at time zone 'UTC')::date, v.source_code, sum(v.weight)
+from view_events v
+join event_boards b on b.id = v.board_key
+group by b.board_id, (v.occurred_at at time zone 'UTC')::date, v.source_code
+on conflict do nothing;
+
+insert into board_view_device_daily (board_id, activity_date, device_code, view_count)
+select b.board_id, (v.occurred_at at time zone 'UTC')::date, v.device_code, sum(v.weight)
+from view_events v
+join event_boards b on b.id = v.board_key
+group by b.board_id, (v.occurred_at at time zone 'UTC')::date, v.device_code
+on conflict do nothing;
@@ -0,0 +1,9 @@
+-- Rollup rebuild chunks that committed, so a rerun with the same run id skips them.
+create table if not exists insights_rebuild_checkpoints (
+  run_id varchar(64) not null,
+  board_id varchar(255) not null,
+  chunk_start date not null,
+  chunk_end date not null,
+  completed_at timestamp with time zone not null,
+  primary key (run_id, board_id, chunk_start)
+);
@@ -2,9 +2,23 @@ package com.b26.backend;
 
 import com.b26.backend.auth.persistence.AuthSessionEntity;
 import com.b26.backend.auth.persistence.AuthSessionRepository;
+import com.b26.backend.board.domain.BoardCardMembershipCache;
+import com.b26.backend.board.domain.BoardReadCache;
 import com.b26.backend.board.persistence.BoardRepository;
 import com.b26.backend.insights.domain.ClickAbuseGuard;
+import com.b26.backend.insights.domain.InsightsLiveStream;
+import com.b26.backend.insights.domain.InsightsReadCache;
+import com.b26.backend.insights.domain.TopClickedCardsTracker;
+import com.b26.backend.insights.domain.ViewSampler;
+import com.b26.backend.insights.persistence.BoardActivityHourlyRepository;
+import com.b26.backend.insights.persistence.BoardViewDailyRepository;
+import com.b26.backend.insights.persistence.BoardViewDeviceDailyRepository;
+import com.b26.backend.insights.persistence.BoardViewSourceDailyRepository;
+import com.b26.backend.insights.persistence.BoardVisitorSketchRepository;
+import com.b26.backend.insights.persistence.CardClickDailyRepository;
 import com.b26.backend.insights.persistence.ClickEventRepository;
+import com.b26.backend.insights.persistence.InsightsCompactionStateRepository;
+import com.b26.backend.insights.persistence.InsightsRebuildCheckpointRepository;
 import com.b26.backend.insights.persistence.ViewEventRepository;
 import com.b26.backend.user.persistence.AppUserEntity;
 import com.b26.backend.user.persistence.AppUserRepository;
@@ -35,7 +49,21 @@ abstract class ApiIntegrationTestSupport {
   @Autowired protected MockMvc mockMvc;
   @Autowired protected ClickEventRepository clickEventRepository;
   @Autowired protected ViewEventRepository viewEventRepository;
+  @Autowired protected BoardViewDailyRepository boardViewDailyRepository;
+  @Autowired protected BoardViewSourceDailyRepository boardViewSourceDailyRepository;
+  @Autowired protected BoardViewDeviceDailyRepository boardViewDeviceDailyRepository;
+  @Autowired protected CardClickDailyRepository cardClickDailyRepository;
+  @Autowired protected BoardActivityHourlyRepository boardActivityHourlyRepository;
+  @Autowired protected BoardVisitorSketchRepository boardVisitorSketchRepository;
+  @Autowired protected InsightsCompactionStateRepository insightsCompactionStateRepository;
+  @Autowired protected InsightsRebuildCheckpointRepository insightsRebuildCheckpointRepository;
   @Autowired protected ClickAbuseGuard clickAbuseGuard;
+  @Autowired protected TopClickedCardsTracker topClickedCardsTracker;
+  @Autowired protected BoardCardMembershipCache boardCardMembershipCache;
+  @Autowired protected BoardReadCache boardReadCache;
+  @Autowired protected InsightsLiveStream insightsLiveStream;
+  @Autowired protected InsightsReadCache insightsReadCache;
+  @Autowired protected ViewSampler viewSampler;
   @Autowired protected ObjectMapper objectMapper;
   @Autowired protected BoardRepository boardRepository;
   @Autowired protected AppUserRepository appUserRepository;
@@ -62,7 +90,21 @@ abstract class ApiIntegrationTestSupport {
   void clearClicks() {
     clickEventRepository.deleteAll();
     viewEventRepository.deleteAll();
+    boardViewDailyRepository.deleteAll();
+    boardViewSourceDailyRepository.deleteAll();
+    boardViewDeviceDailyRepository.deleteAll();
+    cardClickDailyRepository.deleteAll();
+    boardActivityHourlyRepository.deleteAll();
+    boardVisitorSketchRepository.deleteAll();
+    insightsCompactionStateRepository.deleteAll();
+    insightsRebuildCheckpointRepository.deleteAll();
     clickAbuseGuard.clear();
+    topClickedCardsTracker.clear();
+    boardCardMembershipCache.clear();
+    boardReadCache.clear();
+    insightsLiveStream.clear();
+    insightsReadCache.clear();
+    viewSampler.reset();
   }
 
   protected String authAnvu() {
@@ -1,16 +1,38 @@
 package com.b26.backend;
 
+import com.b26.backend.board.api.BoardJsonResponses;
+import com.b26.backend.board.domain.BoardPayload;
+import com.b26.backend.board.domain.BoardSnapshot;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class BoardApiIntegrationTest extends ApiIntegrationTestSupport {
+  @Autowired private MeterRegistry meterRegistry;
 
   @Test
   void getBoard_returns200() throws Exception {
@@ -126,6 +148,178 @@ class BoardApiIntegrationTest extends ApiIntegrationTestSupport {
         .andExpect(jsonPath("$.boardUrl").value("default"));
   }
 
+  @Test
+  void boardReadCache_isInvalidatedByUrlChangesAndWidgetWrites() throws Exception {
+    mockMvc.perform(get(API_BOARD_DEFAULT)).andExpect(status().isOk());
+    mockMvc.perform(get(API_BOARD_DEFAULT_WIDGETS)).andExpect(status().isOk());
+    int widgetCount =
+        readJson(mockMvc.perform(get(API_BOARD_DEFAULT_WIDGETS))).size();
+
+    mockMvc
+        .perform(
+            authJson(patch("/api/board/default/url"), "{ \"boardUrl\": \"default-cached\" }"))
+        .andExpect(status().isOk());
+    mockMvc.perform(get(API_BOARD_DEFAULT)).andExpect(status().isNotFound());
+    mockMvc.perform(get(API_BOARD_DEFAULT_WIDGETS)).andExpect(status().isNotFound());
+    mockMvc
+        .perform(get("/api/board/default-cached"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.boardUrl").value("default-cached"));
+
+    mockMvc
+        .perform(
+            authJson(patch("/api/board/default-cached/url"), "{ \"boardUrl\": \"default\" }"))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/api/board/default-cached")).andExpect(status().isNotFound());
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.boardUrl").value("default"));
+
+    createWidgetAndReturnId();
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT_WIDGETS))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(widgetCount + 1));
+
+    mockMvc.perform(get(API_BOARD_DEFAULT)).andExpect(status().isOk());
+    assertThat(
+            meterRegistry.get("cache.gets").tags("cache", "board", "result", "hit").counter().count())
+        .isPositive();
+    mockMvc.perform(get("/actuator/metrics/cache.gets")).andExpect(status().isNotFound());
+  }
+
+  @Test
+  void getBoardAndWidgets_serveCachedJsonUntilAWrite() throws Exception {
+    String widgetsJson =
+        mockMvc
+            .perform(get(API_BOARD_DEFAULT_WIDGETS))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT_WIDGETS))
+        .andExpect(status().isOk())
+        .andExpect(content().json(widgetsJson, true));
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.id").value("default"));
+
+    long widgetId = createWidgetAndReturnId();
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT_WIDGETS))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[?(@.id == " + widgetId + ")].config.embedUrl")
+            .value("https://example.com/embed"));
+  }
+
+  @Test
+  void getBoard_servesPrecompressedGzipWhenAccepted() throws Exception {
+    MockHttpServletResponse identity =
+        mockMvc
+            .perform(get(API_BOARD_DEFAULT).header("Accept-Encoding", "gzip;q=0, br"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+            .andReturn()
+            .getResponse();
+    MockHttpServletResponse gzip =
+        mockMvc
+            .perform(get(API_BOARD_DEFAULT).header("Accept-Encoding", "br, gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+            .andReturn()
+            .getResponse();
+
+    try (GZIPInputStream in =
+        new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))) {
+      assertThat(in.readAllBytes()).isEqualTo(identity.getContentAsByteArray());
+    }
+    String gzipTag = gzip.getHeader("ETag");
+    assertThat(gzipTag).isNotEqualTo(identity.getHeader("ETag"));
+    mockMvc
+        .perform(
+            get(API_BOARD_DEFAULT)
+                .header("Accept-Encoding", "gzip")
+                .header("If-None-Match", gzipTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", gzipTag));
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT).header("If-None-Match", gzipTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value("default"));
+  }
+
+  @Test
+  void getBoardAndWidgets_revalidateWithVersionETag() throws Exception {
+    String boardTag =
+        mockMvc
+            .perform(get(API_BOARD_DEFAULT))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "no-cache"))
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+    String widgetsTag =
+        mockMvc
+            .perform(get(API_BOARD_DEFAULT_WIDGETS))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+    assertThat(boardTag).startsWith("\"").isEqualTo(widgetsTag);
+
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT).header("If-None-Match", boardTag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT_WIDGETS).header("If-None-Match", widgetsTag))
+        .andExpect(status().isNotModified());
+
+    createWidgetAndReturnId();
+    String changedTag =
+        mockMvc
+            .perform(get(API_BOARD_DEFAULT_WIDGETS).header("If-None-Match", widgetsTag))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+    assertThat(changedTag).isNotEqualTo(widgetsTag);
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT).header("If-None-Match", boardTag))
+        .andExpect(status().isOk())
+        .andExpect(header().stringValues("ETag", contains(changedTag)));
+    mockMvc
+        .perform(get(API_BOARD_DEFAULT).header("If-None-Match", changedTag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void conditionalRead_setsTheETagOnlyFromTheServedSnapshot() {
+    MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", API_BOARD_DEFAULT);
+    servletRequest.addHeader("If-None-Match", "\"0-0\"");
+    MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+    // The board changes between the version lookup and the load.
+    ResponseEntity<byte[]> response =
+        BoardJsonResponses.ok(
+            new ServletWebRequest(servletRequest, servletResponse),
+            () -> "1-100",
+            versionTag ->
+                new BoardSnapshot<>(
+                    "2-200", BoardPayload.of("{}".getBytes(StandardCharsets.UTF_8))));
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().get(HttpHeaders.ETAG)).containsExactly("\"2-200\"");
+    assertThat(servletResponse.getHeaderNames()).doesNotContain(HttpHeaders.ETAG);
+  }
+
   @Test
   void patchBoardUrl_invalidFormat_returns400() throws Exception {
     String payload =
@@ -158,6 +352,27 @@ class BoardApiIntegrationTest extends ApiIntegrationTestSupport {
         .andExpect(jsonPath("$.canEdit").value(true));
   }
 
+  @Test
+  void getBoardPage_combinesBoardCardsWidgetsPermissionsAndRoutes() throws Exception {
+    createWidgetAndReturnId();
+
+    JsonNode page =
+        readJson(mockMvc.perform(get("/api/board/default/page")).andExpect(status().isOk()));
+    assertThat(page.get("board")).isEqualTo(readJson(mockMvc.perform(get(API_BOARD_DEFAULT))));
+    assertThat(page.get("widgets"))
+        .isEqualTo(readJson(mockMvc.perform(get(API_BOARD_DEFAULT_WIDGETS))));
+    assertThat(page.get("routes")).isEqualTo(readJson(mockMvc.perform(get(API_SYSTEM_ROUTES))));
+    assertThat(page.get("cards").size()).isPositive();
+    assertThat(page.get("cards").get(0).get("id").asText()).isNotBlank();
+    assertThat(page.get("canEdit").asBoolean()).isFalse();
+
+    mockMvc
+        .perform(auth(get("/api/board/default/page")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.canEdit").value(true));
+    mockMvc.perform(get("/api/board/not-here/page")).andExpect(status().isNotFound());
+  }
+
   @Test
   void putBoard_invalid_returns400WithStructuredErrors() throws Exception {
     String payload =
@@ -215,4 +430,8 @@ class BoardApiIntegrationTest extends ApiIntegrationTestSupport {
         .andExpect(jsonPath("$[0].id").value("berkshire"))
         .andExpect(jsonPath("$[1].id").value("home"));
   }
+
+  private JsonNode readJson(ResultActions result) throws Exception {
+    return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+  }
 }
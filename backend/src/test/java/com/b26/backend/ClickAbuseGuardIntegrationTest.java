@@ -0,0 +1,57 @@
+package com.b26.backend;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClickAbuseGuardIntegrationTest extends ApiIntegrationTestSupport {
+  // One suppression window of ClickAbuseGuard plus scheduling slack.
+  private static final long WINDOW_MILLIS = 2_100;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Value("${app.insights.click-guard.max-entries}")
+  private long maxEntries;
+
+  @Test
+  void fillingPastTheCap_evictsEarly_andStaysUnderIt() {
+    double evictedBefore = evicted();
+
+    for (int i = 0; i < 3 * maxEntries; i++) {
+      assertThat(clickAbuseGuard.shouldAccept("10.0.0.1", "default", "card-" + i)).isTrue();
+    }
+
+    assertThat(evicted() - evictedBefore).isGreaterThan(maxEntries);
+    assertThat(entries()).isPositive().isLessThanOrEqualTo(maxEntries);
+  }
+
+  @Test
+  void entry_outlivesOneRotation_andIsReleasedAfterTwo() throws InterruptedException {
+    assertThat(clickAbuseGuard.shouldAccept("10.0.0.1", "default", "github")).isTrue();
+    assertThat(clickAbuseGuard.shouldAccept("10.0.0.1", "default", "github")).isFalse();
+    assertThat(entries()).isEqualTo(1);
+
+    // One rotation: the first entry moves to the previous generation and is still held.
+    Thread.sleep(WINDOW_MILLIS);
+    assertThat(clickAbuseGuard.shouldAccept("10.0.0.1", "default", "github")).isTrue();
+    assertThat(entries()).isEqualTo(2);
+
+    // Two rotations without a click: both generations are released wholesale.
+    clickAbuseGuard.clear();
+    assertThat(clickAbuseGuard.shouldAccept("10.0.0.1", "default", "github")).isTrue();
+    Thread.sleep(2 * WINDOW_MILLIS);
+    assertThat(clickAbuseGuard.shouldAccept("10.0.0.1", "default", "github")).isTrue();
+    assertThat(entries()).isEqualTo(1);
+  }
+
+  private double evicted() {
+    return meterRegistry.get("insights.click.guard.evicted").counter().count();
+  }
+
+  private long entries() {
+    return (long) meterRegistry.get("insights.click.guard.entries").gauge().value();
+  }
+}
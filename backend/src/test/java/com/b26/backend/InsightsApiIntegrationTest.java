@@ -1,13 +1,49 @@
 package com.b26.backend;
 
+import com.b26.backend.insights.api.RollupRebuildResponse;
+import com.b26.backend.insights.api.RollupVerificationResponse;
+import com.b26.backend.insights.domain.InsightsCompactionService;
+import com.b26.backend.insights.domain.InsightsEvent;
+import com.b26.backend.insights.domain.InsightsEventWriter;
+import com.b26.backend.insights.domain.InsightsRollupRebuilder;
+import com.b26.backend.insights.domain.InsightsRollupVerifier;
+import com.b26.backend.insights.persistence.ClickEventEntity;
+import com.b26.backend.insights.persistence.InsightsEventDictionary;
+import com.b26.backend.user.persistence.AppUserEntity;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class InsightsApiIntegrationTest extends ApiIntegrationTestSupport {
+  @Autowired private InsightsRollupVerifier rollupVerifier;
+  @Autowired private InsightsEventWriter eventWriter;
+  @Autowired private InsightsRollupRebuilder rollupRebuilder;
+  @Autowired private InsightsCompactionService compactionService;
+  @Autowired private InsightsEventDictionary eventDictionary;
+  @Autowired private JdbcTemplate jdbcTemplate;
 
   @Test
   void postClick_andGetInsights_work() throws Exception {
@@ -92,6 +128,435 @@ class InsightsApiIntegrationTest extends ApiIntegrationTestSupport {
         .andExpect(jsonPath("$.topClickedLinks[0].clickCount").value(1));
   }
 
+  @Test
+  void getSummary_isCachedUntilNextWriteForBoard() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isNoContent());
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalVisits").value(1));
+
+    // Changed behind the writer's back, so the cached summary is still served.
+    boardViewDailyRepository.deleteAll();
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalVisits").value(1));
+
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isNoContent());
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalVisits").value(1))
+        .andExpect(jsonPath("$.visitsToday").value(1));
+  }
+
+  @Test
+  void getMySummary_aggregatesEveryOwnedBoard() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isNoContent());
+    mockMvc
+        .perform(
+            post("/api/click/github")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_CLICK_PAYLOAD))
+        .andExpect(status().isNoContent());
+
+    mockMvc
+        .perform(auth(get("/api/insights/mine/summary")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalVisits").value(1))
+        .andExpect(jsonPath("$.visitsToday").value(1))
+        .andExpect(jsonPath("$.totalClicks").value(1))
+        .andExpect(jsonPath("$.uniqueVisitorsToday").value(1))
+        .andExpect(jsonPath("$.boards[?(@.boardId == 'default')].totalVisits").value(1))
+        .andExpect(
+            jsonPath("$.boards[?(@.boardId == 'default')].topClickedLinks[0].cardId")
+                .value("github"))
+        .andExpect(jsonPath("$.boards[?(@.boardId == 'insights')].totalVisits").value(0));
+
+    mockMvc.perform(get("/api/insights/mine/summary")).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void getMySummary_reportsTheSameTopCardsAsTheBoardSummary() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/click/github")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_CLICK_PAYLOAD))
+        .andExpect(status().isNoContent());
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.topClickedLinks[0].cardId").value("github"))
+        .andExpect(jsonPath("$.topClickedLinks[0].clickCount").value(1));
+
+    // Changed behind the tracker's back: both screens keep reading the tracked counts.
+    cardClickDailyRepository.deleteAll();
+    mockMvc
+        .perform(auth(get("/api/insights/mine/summary")))
+        .andExpect(status().isOk())
+        .andExpect(
+            jsonPath("$.boards[?(@.boardId == 'default')].topClickedLinks[0].cardId")
+                .value("github"))
+        .andExpect(
+            jsonPath("$.boards[?(@.boardId == 'default')].topClickedLinks[0].clickCount")
+                .value(1));
+  }
+
+  @Test
+  void exportEvents_streamsNdjsonCsvAndGzip_forOwnerOnly() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .header("User-Agent", "Mozilla/5.0 (iPhone)")
+                .content("{ \"boardId\": \"default\", \"source\": \"news, weekly\" }")
+                .with(
+                    request -> {
+                      request.setRemoteAddr("10.0.0.7");
+                      return request;
+                    }))
+        .andExpect(status().isNoContent());
+    mockMvc
+        .perform(
+            post("/api/click/github")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_CLICK_PAYLOAD))
+        .andExpect(status().isNoContent());
+
+    String ndjson = export("/api/insights/default/export").getContentAsString();
+    String[] lines = ndjson.split("\n");
+    assertThat(lines).hasSize(2);
+    JsonNode view = objectMapper.readTree(lines[0]);
+    assertThat(view.get("type").asText()).isEqualTo("view");
+    assertThat(view.get("source").asText()).isEqualTo("news, weekly");
+    assertThat(view.get("deviceType").asText()).isEqualTo("mobile");
+    assertThat(view.get("sourceIp").asText()).isEqualTo("10.0.0.7");
+    assertThat(objectMapper.readTree(lines[1]).get("cardId").asText()).isEqualTo("github");
+
+    String csv = export("/api/insights/default/export?format=csv").getContentAsString();
+    assertThat(csv.split("\n"))
+        .hasSize(3)
+        .contains("type,occurred_at,card_id,source,device_type,source_ip,weight");
+    assertThat(csv).contains(",\"news, weekly\",mobile,10.0.0.7,1\n");
+
+    byte[] gzipped = export("/api/insights/default/export?gzip=true").getContentAsByteArray();
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+      assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(ndjson);
+    }
+
+    AppUserEntity visitor = new AppUserEntity();
+    visitor.setId("export-visitor");
+    visitor.setUsername("export-visitor");
+    visitor.setDisplayName("export-visitor");
+    visitor.setEmail("export-visitor@local");
+    visitor.setRole("USER");
+    appUserRepository.save(visitor);
+    mockMvc
+        .perform(
+            get("/api/insights/default/export")
+                .header(AUTHORIZATION_HEADER, issueAuthTokenForUser("export-visitor")))
+        .andExpect(status().isForbidden());
+    mockMvc.perform(get("/api/insights/default/export")).andExpect(status().isUnauthorized());
+    mockMvc
+        .perform(auth(get("/api/insights/default/export?format=xml")))
+        .andExpect(status().isBadRequest());
+  }
+
+  private MockHttpServletResponse export(String url) throws Exception {
+    MvcResult started =
+        mockMvc.perform(auth(get(url))).andExpect(request().asyncStarted()).andReturn();
+    return mockMvc
+        .perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse();
+  }
+
+  @Test
+  void sampledViews_countWithTheirWeight() throws Exception {
+    eventWriter.write(
+        List.of(
+            new InsightsEvent.View("default", Instant.now(), "10.0.0.1", "direct", "desktop", 4),
+            new InsightsEvent.View("default", Instant.now(), "10.0.0.2", "direct", "desktop")));
+
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalVisits").value(5))
+        .andExpect(jsonPath("$.visitsToday").value(5));
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    assertThat(rollupVerifier.verify("default", today, today).consistent()).isTrue();
+  }
+
+  @Test
+  void getSummary_countsUniqueVisitorsBySourceIp() throws Exception {
+    for (String remoteAddr : new String[] {"10.0.0.1", "10.0.0.2", "10.0.0.1"}) {
+      mockMvc
+          .perform(
+              post("/api/insights/view")
+                  .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                  .content(DEFAULT_VIEW_PAYLOAD)
+                  .with(
+                      request -> {
+                        request.setRemoteAddr(remoteAddr);
+                        return request;
+                      }))
+          .andExpect(status().isNoContent());
+    }
+
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.visitsToday").value(3))
+        .andExpect(jsonPath("$.uniqueVisitorsToday").value(2))
+        .andExpect(jsonPath("$.uniqueVisitorsLast30Days").value(2));
+  }
+
+  @Test
+  void visitorSketches_hashTheSameAddressFormLiveAndRebuilt() throws Exception {
+    eventWriter.write(
+        List.of(
+            new InsightsEvent.View("default", Instant.now(), "2001:db8::1", "direct", "desktop")));
+    rollupRebuilder.start(null, null, "visitor-form").get(30, TimeUnit.SECONDS);
+
+    eventWriter.write(
+        List.of(
+            new InsightsEvent.View(
+                "default", Instant.now(), "2001:0db8:0:0:0:0:0:1", "direct", "desktop")));
+
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.visitsToday").value(2))
+        .andExpect(jsonPath("$.uniqueVisitorsToday").value(1));
+  }
+
+  @Test
+  void getSummary_last30DaysAreUtcCalendarDaysIncludingToday() throws Exception {
+    LocalDate firstDay = LocalDate.now(ZoneOffset.UTC).minusDays(29);
+    Instant windowStart = firstDay.atStartOfDay(ZoneOffset.UTC).toInstant();
+    eventWriter.write(
+        List.of(
+            new InsightsEvent.View("default", windowStart, "10.0.0.1", "direct", "desktop"),
+            new InsightsEvent.View(
+                "default", windowStart.minusSeconds(1), "10.0.0.2", "direct", "desktop")));
+
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalVisits").value(2))
+        .andExpect(jsonPath("$.visitsLast30Days").value(1))
+        .andExpect(jsonPath("$.visitsToday").value(0))
+        .andExpect(jsonPath("$.uniqueVisitorsLast30Days").value(1));
+  }
+
+  @Test
+  void getSummary_topClickedLinks_followClicksAfterFirstRead() throws Exception {
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.topClickedLinks.length()").value(0));
+
+    for (String remoteAddr : new String[] {"10.0.0.1", "10.0.0.2"}) {
+      mockMvc
+          .perform(
+              post("/api/click/github")
+                  .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                  .content(DEFAULT_CLICK_PAYLOAD)
+                  .with(
+                      request -> {
+                        request.setRemoteAddr(remoteAddr);
+                        return request;
+                      }))
+          .andExpect(status().isNoContent());
+    }
+
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.topClickedLinks[0].cardId").value("github"))
+        .andExpect(jsonPath("$.topClickedLinks[0].clickCount").value(2));
+
+    cardClickDailyRepository.deleteAll();
+    topClickedCardsTracker.reconcile();
+    insightsReadCache.clear();
+
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.topClickedLinks.length()").value(0));
+  }
+
+  @Test
+  void compaction_deletesOldRawEvents_withoutChangingTotals() throws Exception {
+    Instant longAgo = Instant.now().minus(200, ChronoUnit.DAYS);
+    eventWriter.write(
+        List.of(
+            new InsightsEvent.View("default", longAgo, "10.0.0.1", "direct", "desktop"),
+            new InsightsEvent.Click("default", "github", longAgo, "10.0.0.1")));
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isNoContent());
+
+    assertThat(compactionService.compact()).isEqualTo(2);
+    assertThat(compactionService.compact()).isZero();
+
+    assertThat(viewEventRepository.count()).isEqualTo(1);
+    assertThat(clickEventRepository.count()).isZero();
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalVisits").value(2))
+        .andExpect(jsonPath("$.totalClicks").value(1));
+
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    assertThat(rollupVerifier.verify("default", today.minusDays(365), today).consistent()).isTrue();
+  }
+
+  @Test
+  void postEvents_writesBatch_andSkipsSuppressedClicks() throws Exception {
+    String batch =
+        """
+        [
+          { "type": "view", "boardId": "default", "source": "direct" },
+          { "type": "click", "boardId": "default", "cardId": "github" },
+          { "type": "click", "boardId": "default", "cardId": "github" },
+          { "type": "click", "boardId": "default", "cardId": "linkedin" }
+        ]
+        """;
+
+    mockMvc
+        .perform(
+            post("/api/insights/events")
+                .contentType(org.springframework.http.MediaType.TEXT_PLAIN)
+                .content(batch))
+        .andExpect(status().isNoContent());
+
+    assertThat(viewEventRepository.count()).isEqualTo(1);
+    assertThat(clickEventRepository.count()).isEqualTo(2);
+  }
+
+  @Test
+  void postEvents_oversizedBody_returns413() throws Exception {
+    String batch =
+        "[" + " ".repeat(64 * 1024) + "{ \"type\": \"view\", \"boardId\": \"default\" }]";
+
+    mockMvc
+        .perform(
+            post("/api/insights/events")
+                .contentType(org.springframework.http.MediaType.TEXT_PLAIN)
+                .content(batch))
+        .andExpect(status().isPayloadTooLarge())
+        .andExpect(jsonPath("$.message").value("Event batch must be at most 65536 bytes"));
+
+    assertThat(viewEventRepository.count()).isZero();
+  }
+
+  @Test
+  void postEvents_invalidEvent_rejectsWholeBatch() throws Exception {
+    String batch =
+        """
+        [
+          { "type": "view", "boardId": "default" },
+          { "type": "click", "boardId": "default", "cardId": "not-a-card" }
+        ]
+        """;
+
+    mockMvc
+        .perform(
+            post("/api/insights/events")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(batch))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.message").value("Card 'not-a-card' does not belong to board 'default'"));
+
+    mockMvc
+        .perform(
+            post("/api/insights/events")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content("[{ \"type\": \"scroll\", \"boardId\": \"default\" }]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].message").value("events[0].type must be one of view, click"));
+
+    assertThat(viewEventRepository.count()).isZero();
+  }
+
+  @Test
+  void postClick_seesCardsAddedByBoardUpdate() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/click/docs")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_CLICK_PAYLOAD))
+        .andExpect(status().isBadRequest());
+
+    mockMvc
+        .perform(
+            authJson(
+                put(API_BOARD_DEFAULT),
+                boardPayloadWithCards(
+                    """
+                    { "id": "github", "label": "GitHub", "href": "https://github.com/" },
+                    { "id": "linkedin", "label": "LinkedIn", "href": "https://linkedin.com/" },
+                    { "id": "docs", "label": "Docs", "href": "https://example.com/docs" }
+                    """)))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(
+            post("/api/click/docs")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_CLICK_PAYLOAD))
+        .andExpect(status().isNoContent());
+
+    mockMvc
+        .perform(
+            authJson(
+                put(API_BOARD_DEFAULT),
+                boardPayloadWithCards(
+                    """
+                    { "id": "github", "label": "GitHub", "href": "https://github.com/" },
+                    { "id": "linkedin", "label": "LinkedIn", "href": "https://linkedin.com/" }
+                    """)))
+        .andExpect(status().isOk());
+
+    clickAbuseGuard.clear();
+    mockMvc
+        .perform(
+            post("/api/click/docs")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_CLICK_PAYLOAD))
+        .andExpect(status().isBadRequest());
+  }
+
+  private static String boardPayloadWithCards(String cards) {
+    return """
+        { "name": "Updated Name", "headline": "Updated Headline", "cards": [ %s ] }
+        """
+        .formatted(cards);
+  }
+
   @Test
   void postView_missingBoard_returns404() throws Exception {
     String viewPayload =
@@ -107,4 +572,203 @@ class InsightsApiIntegrationTest extends ApiIntegrationTestSupport {
         .andExpect(status().isNotFound())
         .andExpect(jsonPath("$.message").value("Board not found: not-here"));
   }
+
+  @Test
+  void rollups_matchRawEvents_andVerifierReportsDrift() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isNoContent());
+    mockMvc
+        .perform(
+            post("/api/click/github")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_CLICK_PAYLOAD))
+        .andExpect(status().isNoContent());
+
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    RollupVerificationResponse consistent = rollupVerifier.verify("default", today, today);
+    assertThat(consistent.consistent()).isTrue();
+
+    ClickEventEntity unrolled = new ClickEventEntity();
+    unrolled.setCardKey(eventDictionary.cardKey("default", "resume"));
+    unrolled.setOccurredAt(Instant.now());
+    unrolled.setSourceIp(new byte[] {127, 0, 0, 1});
+    clickEventRepository.save(unrolled);
+
+    RollupVerificationResponse drifted = rollupVerifier.verify("default", today, today);
+    assertThat(drifted.consistent()).isFalse();
+    assertThat(drifted.mismatches()).hasSize(1);
+    assertThat(drifted.mismatches().get(0).cardId()).isEqualTo("resume");
+    assertThat(drifted.mismatches().get(0).rollupCount()).isZero();
+    assertThat(drifted.mismatches().get(0).rawCount()).isEqualTo(1);
+  }
+
+  @Test
+  void getTimeSeries_returnsZeroFilledBucketsFromRollups() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isNoContent());
+    mockMvc
+        .perform(
+            post("/api/click/github")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content(DEFAULT_CLICK_PAYLOAD))
+        .andExpect(status().isNoContent());
+
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    mockMvc
+        .perform(
+            get("/api/insights/default/timeseries")
+                .param("from", today.minusDays(6).toString())
+                .param("to", today.toString())
+                .param("resolution", "day"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.resolution").value("day"))
+        .andExpect(jsonPath("$.buckets.length()").value(7))
+        .andExpect(jsonPath("$.buckets[0].views").value(0))
+        .andExpect(jsonPath("$.buckets[6].views").value(1))
+        .andExpect(jsonPath("$.buckets[6].clicks").value(1));
+
+    mockMvc
+        .perform(get("/api/insights/default/timeseries").param("resolution", "hour"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.buckets.length()").value(24));
+
+    mockMvc
+        .perform(get("/api/insights/default/timeseries").param("resolution", "minute"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].message").value("resolution must be one of hour, day, week"));
+  }
+
+  @Test
+  void getBreakdown_groupsViewsBySourceAndDevice() throws Exception {
+    String iphone = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X) Mobile/15E148";
+    String[][] views = {{"news", iphone}, {"news", "Mozilla/5.0 (X11; Linux x86_64)"}, {"", iphone}};
+    for (String[] view : views) {
+      mockMvc
+          .perform(
+              post("/api/insights/view")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .header("User-Agent", view[1])
+                  .content("{ \"boardId\": \"default\", \"source\": \"" + view[0] + "\" }"))
+          .andExpect(status().isNoContent());
+    }
+
+    mockMvc
+        .perform(get("/api/insights/default/breakdown").param("dimension", "source"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.dimension").value("source"))
+        .andExpect(jsonPath("$.totalViews").value(3))
+        .andExpect(jsonPath("$.entries[0].value").value("news"))
+        .andExpect(jsonPath("$.entries[0].views").value(2))
+        .andExpect(jsonPath("$.entries[1].value").value("direct"))
+        .andExpect(jsonPath("$.entries[1].views").value(1));
+
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    mockMvc
+        .perform(
+            get("/api/insights/default/breakdown")
+                .param("dimension", "device")
+                .param("from", today.toString())
+                .param("to", today.toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.entries.length()").value(2))
+        .andExpect(jsonPath("$.entries[0].value").value("mobile"))
+        .andExpect(jsonPath("$.entries[0].views").value(2))
+        .andExpect(jsonPath("$.entries[1].value").value("desktop"));
+
+    mockMvc
+        .perform(
+            get("/api/insights/default/breakdown")
+                .param("dimension", "device")
+                .param("to", today.minusDays(1).toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalViews").value(0))
+        .andExpect(jsonPath("$.entries.length()").value(0));
+
+    mockMvc
+        .perform(get("/api/insights/default/breakdown").param("dimension", "country"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].message").value("dimension must be one of source, device"));
+  }
+
+  @Test
+  void rollupRebuild_restoresRollupsFromRawEvents_andResumesFromCheckpoints() throws Exception {
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    Instant tenDaysAgo = today.minusDays(10).atTime(9, 30).toInstant(ZoneOffset.UTC);
+    Instant twoDaysAgo = today.minusDays(2).atTime(18, 5).toInstant(ZoneOffset.UTC);
+    eventWriter.write(
+        List.of(
+            new InsightsEvent.View("default", tenDaysAgo, "10.0.0.1", "news", "mobile", 2),
+            new InsightsEvent.View("default", twoDaysAgo, "10.0.0.2", "direct", "desktop"),
+            new InsightsEvent.Click("default", "github", twoDaysAgo, "10.0.0.2")));
+    boardViewDailyRepository.deleteAll();
+    boardViewSourceDailyRepository.deleteAll();
+    boardViewDeviceDailyRepository.deleteAll();
+    cardClickDailyRepository.deleteAll();
+    boardActivityHourlyRepository.deleteAll();
+    boardVisitorSketchRepository.deleteAll();
+    insightsReadCache.clear();
+
+    RollupRebuildResponse first =
+        rollupRebuilder.start(null, null, "rebuild-test").get(30, TimeUnit.SECONDS);
+    assertThat(first.state()).isEqualTo("completed");
+    assertThat(first.totalChunks()).isEqualTo(2);
+    assertThat(first.completedChunks()).isEqualTo(2);
+
+    assertThat(rollupVerifier.verify("default", today.minusDays(10), today).consistent()).isTrue();
+    assertThat(boardActivityHourlyRepository.count()).isEqualTo(2);
+    assertThat(boardVisitorSketchRepository.count()).isEqualTo(2);
+    mockMvc
+        .perform(get("/api/insights/default/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalVisits").value(3))
+        .andExpect(jsonPath("$.totalClicks").value(1))
+        .andExpect(jsonPath("$.uniqueVisitorsLast30Days").value(2));
+    mockMvc
+        .perform(get("/api/insights/default/breakdown").param("dimension", "source"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.entries[0].value").value("news"))
+        .andExpect(jsonPath("$.entries[0].views").value(2));
+
+    RollupRebuildResponse rerun =
+        rollupRebuilder.start(null, null, "rebuild-test").get(30, TimeUnit.SECONDS);
+    assertThat(rerun.skippedChunks()).isEqualTo(2);
+    assertThat(rerun.completedChunks()).isZero();
+  }
+
+  @Test
+  void eventDictionary_mapsNewSourcesToOther_onceFull() {
+    eventDictionary.clear();
+    int stored =
+        jdbcTemplate.queryForObject("select count(*) from event_sources", Integer.class);
+    List<Object[]> fill = new ArrayList<>();
+    for (int i = stored; i < InsightsEventDictionary.MAX_SOURCES; i++) {
+      fill.add(new Object[] {"fill-" + i});
+    }
+    jdbcTemplate.batchUpdate("insert into event_sources (name) values (?)", fill);
+    try {
+      short other = eventDictionary.sourceCode("tail-1");
+      assertThat(eventDictionary.sourceCode("tail-2")).isEqualTo(other);
+      assertThat(eventDictionary.sourceCode(InsightsEventDictionary.OVERFLOW_SOURCE))
+          .isEqualTo(other);
+      assertThat(eventDictionary.sourceCode("fill-" + (InsightsEventDictionary.MAX_SOURCES - 1)))
+          .isNotEqualTo(other);
+      assertThat(
+              jdbcTemplate.queryForObject(
+                  "select count(*) from event_sources where name like 'tail-%'", Integer.class))
+          .isZero();
+    } finally {
+      jdbcTemplate.update(
+          "delete from event_sources where name like 'fill-%' or name = ?",
+          InsightsEventDictionary.OVERFLOW_SOURCE);
+      eventDictionary.clear();
+    }
+  }
 }
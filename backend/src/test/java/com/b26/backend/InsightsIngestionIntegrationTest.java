@@ -0,0 +1,101 @@
+package com.b26.backend;
+
+import com.b26.backend.insights.domain.InsightsEvent;
+import com.b26.backend.insights.domain.InsightsIngestionBuffer;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(
+    properties = {
+      "app.insights.ingest.write-behind=true",
+      "app.insights.ingest.queue-capacity=2",
+      "app.insights.ingest.batch-size=100",
+      "app.insights.ingest.flush-interval-ms=60000",
+      "app.insights.ingest.overflow-policy=reject",
+      "app.insights.sampling.enabled=true",
+      "app.insights.sampling.queue-threshold=1.0",
+      "app.insights.sampling.adjust-interval-ms=600000"
+    })
+class InsightsIngestionIntegrationTest extends ApiIntegrationTestSupport {
+  @Autowired private InsightsIngestionBuffer ingestionBuffer;
+
+  @Test
+  void postView_isQueuedUntilFlush_andRejectsWhenFull() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(
+              post("/api/insights/view")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(DEFAULT_VIEW_PAYLOAD))
+          .andExpect(status().isNoContent());
+    }
+
+    assertThat(ingestionBuffer.getQueueDepth()).isEqualTo(2);
+    assertThat(viewEventRepository.count()).isZero();
+
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(jsonPath("$.message").value("Insights ingestion is overloaded. Try again shortly."));
+
+    ingestionBuffer.flush();
+
+    assertThat(ingestionBuffer.getQueueDepth()).isZero();
+    assertThat(viewEventRepository.count()).isEqualTo(2);
+  }
+
+  @Test
+  void viewSampler_raisesWeightWhileQueueIsFull_andRecovers() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(
+              post("/api/insights/view")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(DEFAULT_VIEW_PAYLOAD))
+          .andExpect(status().isNoContent());
+    }
+
+    viewSampler.adjust();
+    viewSampler.adjust();
+    assertThat(viewSampler.getWeight()).isEqualTo(4);
+
+    ingestionBuffer.flush();
+    viewSampler.adjust();
+    assertThat(viewSampler.getWeight()).isEqualTo(2);
+    viewSampler.adjust();
+    assertThat(viewSampler.getWeight()).isEqualTo(1);
+  }
+
+  @Test
+  void oversizedSource_isTruncated_andARefusedEventDoesNotDropItsBatch() throws Exception {
+    String longSource = "s".repeat(300);
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"boardId\": \"default\", \"source\": \"" + longSource + "\" }"))
+        .andExpect(status().isNoContent());
+    // Bypasses the service, so nothing bounds the source before the database refuses it.
+    ingestionBuffer.submit(
+        new InsightsEvent.View("default", Instant.now(), "10.0.0.1", longSource, "desktop"));
+
+    ingestionBuffer.flush();
+
+    assertThat(ingestionBuffer.getQueueDepth()).isZero();
+    assertThat(viewEventRepository.count()).isEqualTo(1);
+    assertThat(boardViewDailyRepository.findAll())
+        .singleElement()
+        .satisfies(day -> assertThat(day.getViewCount()).isEqualTo(1));
+  }
+}
@@ -0,0 +1,95 @@
+package com.b26.backend;
+
+import com.b26.backend.insights.domain.InsightsEvent;
+import com.b26.backend.insights.domain.InsightsEventJournal;
+import com.b26.backend.insights.domain.InsightsEventWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class InsightsJournalIntegrationTest extends ApiIntegrationTestSupport {
+  @Autowired private InsightsEventJournal journal;
+  @Autowired private InsightsEventWriter eventWriter;
+
+  @DynamicPropertySource
+  static void journalProperties(DynamicPropertyRegistry registry) throws IOException {
+    Path directory = Files.createTempDirectory("insights-journal");
+    registry.add("app.insights.journal.enabled", () -> "true");
+    registry.add("app.insights.journal.directory", directory::toString);
+    registry.add("app.insights.journal.sync-interval-ms", () -> "10");
+  }
+
+  @Test
+  void postView_isJournaledThenReplayed_andNotReplayedAgainAfterRestart() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(
+              post("/api/insights/view")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(DEFAULT_VIEW_PAYLOAD))
+          .andExpect(status().isNoContent());
+    }
+
+    awaitTrue(() -> viewEventRepository.count() == 2);
+    assertThat(boardViewDailyRepository.findAll())
+        .singleElement()
+        .satisfies(row -> assertThat(row.getViewCount()).isEqualTo(2));
+
+    journal.stop();
+    journal.start();
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isNoContent());
+
+    awaitTrue(() -> viewEventRepository.count() >= 3);
+    Thread.sleep(200);
+    assertThat(viewEventRepository.count()).isEqualTo(3);
+  }
+
+  @Test
+  void replay_recordsWriteLatency_whichDecaysWhileIdle() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isNoContent());
+    awaitTrue(() -> viewEventRepository.count() == 1);
+
+    long afterReplay = eventWriter.getRecentWriteNanos();
+    assertThat(afterReplay).isPositive();
+    Thread.sleep(2_100);
+    assertThat(eventWriter.getRecentWriteNanos()).isLessThanOrEqualTo(afterReplay / 4);
+  }
+
+  @Test
+  void append_refusesEventsItCannotEncode_insteadOfThrowing() {
+    InsightsEvent oversized =
+        new InsightsEvent.View("default", Instant.now(), "10.0.0.1", "s".repeat(70_000), "desktop");
+
+    assertThat(journal.append(List.of(oversized))).isFalse();
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
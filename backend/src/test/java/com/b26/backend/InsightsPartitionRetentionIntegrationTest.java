@@ -0,0 +1,100 @@
+package com.b26.backend;
+
+import com.b26.backend.insights.api.RollupVerificationResponse;
+import com.b26.backend.insights.domain.InsightsEvent;
+import com.b26.backend.insights.domain.InsightsEventWriter;
+import com.b26.backend.insights.domain.InsightsPartitionMaintainer;
+import com.b26.backend.insights.domain.InsightsRollupVerifier;
+import com.b26.backend.insights.persistence.InsightsPartitionRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * H2 has no declarative partitioning, so the partition catalog is simulated: dropping a partition
+ * deletes that month's raw events, which is what the real detach-and-drop leaves behind.
+ */
+@TestPropertySource(
+    properties = {
+      "app.insights.partitions.retention-months=1",
+      "app.insights.partitions.initial-delay-ms=3600000"
+    })
+class InsightsPartitionRetentionIntegrationTest extends ApiIntegrationTestSupport {
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+  @MockitoBean private InsightsPartitionRepository partitionRepository;
+  @Autowired private InsightsPartitionMaintainer partitionMaintainer;
+  @Autowired private InsightsRollupVerifier rollupVerifier;
+  @Autowired private InsightsEventWriter eventWriter;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void verify_skipsDaysWhosePartitionWasDropped() {
+    YearMonth current = YearMonth.now(ZoneOffset.UTC);
+    YearMonth expired = current.minusMonths(2);
+    List<String> viewPartitions = new ArrayList<>();
+    for (YearMonth month = expired; !month.isAfter(current); month = month.plusMonths(1)) {
+      viewPartitions.add("view_events_p" + month.format(SUFFIX));
+    }
+    when(partitionRepository.isSupported()).thenReturn(true);
+    when(partitionRepository.listPartitions(anyString()))
+        .thenAnswer(
+            invocation ->
+                "view_events".equals(invocation.getArgument(0))
+                    ? List.copyOf(viewPartitions)
+                    : List.of());
+    doAnswer(
+            invocation -> {
+              String partition = invocation.getArgument(1);
+              YearMonth month =
+                  YearMonth.parse(partition.substring("view_events_p".length()), SUFFIX);
+              jdbcTemplate.update(
+                  "delete from view_events where occurred_at >= ? and occurred_at < ?",
+                  month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                  month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+              viewPartitions.remove(partition);
+              return null;
+            })
+        .when(partitionRepository)
+        .detachAndDropPartition(anyString(), anyString());
+
+    LocalDate expiredDay = expired.atDay(10);
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    eventWriter.write(
+        List.of(
+            new InsightsEvent.View(
+                "default", noonOf(expiredDay), "10.0.0.1", "direct", "desktop"),
+            new InsightsEvent.View("default", Instant.now(), "10.0.0.2", "direct", "desktop")));
+
+    partitionMaintainer.maintain();
+
+    assertThat(viewPartitions).doesNotContain("view_events_p" + expired.format(SUFFIX));
+    assertThat(viewEventRepository.count()).isEqualTo(1);
+    assertThat(partitionMaintainer.firstRetainedDay()).contains(current.minusMonths(1).atDay(1));
+    RollupVerificationResponse report = rollupVerifier.verify("default", expiredDay, today);
+    assertThat(report.mismatches()).isEmpty();
+    assertThat(report.consistent()).isTrue();
+
+    // Days that are still retained keep being checked.
+    viewEventRepository.deleteAll();
+    assertThat(rollupVerifier.verify("default", expiredDay, today).consistent()).isFalse();
+  }
+
+  private static Instant noonOf(LocalDate day) {
+    return day.atTime(12, 0).toInstant(ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,36 @@
+package com.b26.backend;
+
+import com.b26.backend.insights.domain.InsightsEvent;
+import com.b26.backend.insights.domain.InsightsEventWriter;
+import com.b26.backend.insights.persistence.InsightsEventDictionary;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Cold dictionary keys must resolve without a second connection while the batch holds one. */
+@TestPropertySource(
+    properties = {
+      "spring.datasource.hikari.maximum-pool-size=1",
+      "spring.datasource.hikari.connection-timeout=2000"
+    })
+class InsightsSingleConnectionIntegrationTest extends ApiIntegrationTestSupport {
+  @Autowired private InsightsEventWriter eventWriter;
+  @Autowired private InsightsEventDictionary eventDictionary;
+
+  @Test
+  void write_resolvesColdKeysWithOnePooledConnection() {
+    eventDictionary.clear();
+
+    eventWriter.write(
+        List.of(
+            new InsightsEvent.View("default", Instant.now(), "10.0.0.1", "new-source", "desktop"),
+            new InsightsEvent.Click("default", "github", Instant.now(), "10.0.0.1")));
+
+    assertThat(viewEventRepository.count()).isEqualTo(1);
+    assertThat(clickEventRepository.count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,83 @@
+package com.b26.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(
+    properties = {
+      "app.insights.stream.max-connections=1",
+      "app.insights.stream.flush-interval-ms=600000",
+      "app.insights.stream.heartbeat-interval-ms=600000"
+    })
+class InsightsStreamIntegrationTest extends ApiIntegrationTestSupport {
+  @Test
+  void stream_pushesCoalescedDeltas_andCapsConnections() throws Exception {
+    MvcResult stream =
+        mockMvc
+            .perform(get("/api/insights/default/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(get("/api/insights/default/stream"))
+        .andExpect(status().isServiceUnavailable());
+
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(
+              post("/api/insights/view")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(DEFAULT_VIEW_PAYLOAD))
+          .andExpect(status().isNoContent());
+    }
+    mockMvc
+        .perform(
+            post("/api/click/github")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(DEFAULT_CLICK_PAYLOAD))
+        .andExpect(status().isNoContent());
+    insightsLiveStream.flush();
+
+    String body = stream.getResponse().getContentAsString();
+    assertThat(body).containsOnlyOnce("event:update");
+    assertThat(body).contains("\"views\":2", "\"clicks\":1", "\"cardId\":\"github\"");
+    assertThat(body).contains("\"topClickedLinks\":[{\"cardId\":\"github\",\"clickCount\":1}]");
+  }
+
+  @Test
+  void scheduledFlush_sendsFromTheSenderThread() throws Exception {
+    MvcResult stream =
+        mockMvc
+            .perform(get("/api/insights/default/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    mockMvc
+        .perform(
+            post("/api/insights/view")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(DEFAULT_VIEW_PAYLOAD))
+        .andExpect(status().isNoContent());
+
+    insightsLiveStream.scheduleFlush();
+
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while (!stream.getResponse().getContentAsString().contains("event:update")
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(stream.getResponse().getContentAsString()).contains("\"views\":1");
+  }
+
+  @Test
+  void stream_rejectsUnknownBoard() throws Exception {
+    mockMvc.perform(get("/api/insights/not-here/stream")).andExpect(status().isNotFound());
+  }
+}
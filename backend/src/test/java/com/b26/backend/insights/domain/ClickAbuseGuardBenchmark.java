@@ -0,0 +1,101 @@
+package com.b26.backend.insights.domain;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link ClickAbuseGuard} with the previous string-keyed implementation. Run from {@code
+ * backend/} with
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test \
+ *     -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *     com.b26.backend.insights.domain.ClickAbuseGuardBenchmark
+ * </pre>
+ *
+ * <p>The gc profiler's {@code gc.alloc.rate.norm} column is the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClickAbuseGuardBenchmark {
+  private static final int DISTINCT_CLICKS = 4096;
+
+  private final String[] ips = new String[DISTINCT_CLICKS];
+  private final String[] boards = new String[DISTINCT_CLICKS];
+  private final String[] cards = new String[DISTINCT_CLICKS];
+  private ClickAbuseGuard guard;
+  private LegacyClickAbuseGuard legacyGuard;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    for (int i = 0; i < DISTINCT_CLICKS; i++) {
+      ips[i] = "10." + (i >>> 8 & 0xFF) + "." + (i & 0xFF) + "." + (i % 7);
+      boards[i] = "board-" + (i % 32);
+      cards[i] = "card-" + (i % 11);
+    }
+    guard = new ClickAbuseGuard(new SimpleMeterRegistry(), 100_000);
+    legacyGuard = new LegacyClickAbuseGuard();
+  }
+
+  @Benchmark
+  public boolean generationalPrimitiveKeys() {
+    int i = next++ & (DISTINCT_CLICKS - 1);
+    return guard.shouldAccept(ips[i], boards[i], cards[i]);
+  }
+
+  @Benchmark
+  public boolean legacyStringKeys() {
+    int i = next++ & (DISTINCT_CLICKS - 1);
+    return legacyGuard.shouldAccept(ips[i], boards[i], cards[i]);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ClickAbuseGuardBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+        .run();
+  }
+
+  /** The guard as it was before bounding: unpruned map, string keys, {@link Instant} stamps. */
+  static final class LegacyClickAbuseGuard {
+    private static final Duration WINDOW = Duration.ofSeconds(2);
+    private final Map<String, Instant> lastAccepted = new ConcurrentHashMap<>();
+
+    boolean shouldAccept(String ipAddress, String boardId, String cardId) {
+      Instant now = Instant.now();
+      String key = ipAddress + "|" + boardId + "|" + cardId;
+      Instant previous = lastAccepted.get(key);
+      if (previous != null && Duration.between(previous, now).compareTo(WINDOW) < 0) {
+        return false;
+      }
+      lastAccepted.put(key, now);
+      return true;
+    }
+  }
+}
@@ -8,6 +8,7 @@ function needsAuthHeader(url: string): boolean {
     url.includes('/api/users/me') ||
     url.includes('/api/auth/me') ||
     url.includes('/api/auth/signout') ||
+    url.includes('/api/insights/mine/') ||
     isBoardApi ||
     url.includes('/api/system/')
   );
@@ -1,3 +1,5 @@
+import type { Widget } from './widget';
+
 export type Board = {
   id: string;
   boardName: string;
@@ -87,3 +89,11 @@ export type UpdateUserProfileRequest = {
 export type BoardPermissions = {
   canEdit: boolean;
 };
+
+export type BoardPage = {
+  board: Board;
+  cards: Card[];
+  widgets: Widget[];
+  canEdit: boolean;
+  routes: SystemRoutes;
+};
@@ -10,4 +10,10 @@ export type InsightsSummary = {
   visitsToday: number;
   totalClicks: number;
   topClickedLinks: CardInsights[];
+  uniqueVisitorsToday?: number;
+  uniqueVisitorsLast30Days?: number;
 };
+
+export type InsightsEvent =
+  | { type: 'view'; boardId: string; source?: string }
+  | { type: 'click'; boardId: string; cardId: string };
@@ -4,23 +4,45 @@ import { defer, of, throwError } from 'rxjs';
 
 import { BoardPageComponent } from './board-page';
 import { BoardService } from '../../services/board.service';
+import type { Board, BoardPage } from '../../models/board';
 import type { Widget } from '../../models/widget';
 
+const DEFAULT_BOARD: Board = {
+  id: 'default',
+  boardName: 'Default',
+  boardUrl: 'default',
+  name: 'An Vu',
+  headline: 'Software Engineer',
+};
+
+const DEFAULT_PAGE: BoardPage = {
+  board: DEFAULT_BOARD,
+  cards: [],
+  widgets: [],
+  canEdit: true,
+  routes: {
+    globalHomepageBoardId: 'home',
+    globalHomepageBoardUrl: 'home',
+    globalInsightsBoardId: 'insights',
+    globalInsightsBoardUrl: 'insights',
+    globalSettingsBoardId: 'settings',
+    globalSettingsBoardUrl: 'settings',
+  },
+};
+
 describe('BoardPageComponent', () => {
   let component: BoardPageComponent;
   let fixture: ComponentFixture<BoardPageComponent>;
   let boardServiceStub: {
     getBoards: BoardService['getBoards'];
     getMyBoards: BoardService['getMyBoards'];
-    getBoard: BoardService['getBoard'];
+    getBoardPage: BoardService['getBoardPage'];
     getMyProfile: BoardService['getMyProfile'];
     getMyPreferences: BoardService['getMyPreferences'];
     updateBoard: BoardService['updateBoard'];
     updateBoardMeta: BoardService['updateBoardMeta'];
     updateBoardUrl: BoardService['updateBoardUrl'];
     updateBoardIdentity: BoardService['updateBoardIdentity'];
-    getBoardPermissions: BoardService['getBoardPermissions'];
-    getWidgets: BoardService['getWidgets'];
     createWidget: BoardService['createWidget'];
     updateWidget: BoardService['updateWidget'];
     deleteWidget: BoardService['deleteWidget'];
@@ -47,14 +69,7 @@ describe('BoardPageComponent', () => {
         of([
           { id: 'default', boardName: 'Default', boardUrl: 'default', name: 'An Vu', headline: 'Software Engineer' },
         ]),
-      getBoard: () =>
-        of({
-          id: 'default',
-          boardName: 'Default',
-          boardUrl: 'default',
-          name: 'An Vu',
-          headline: 'Software Engineer',
-        }),
+      getBoardPage: () => of(DEFAULT_PAGE),
       getMyProfile: () =>
         of({
           userId: 'anvu',
@@ -101,8 +116,6 @@ describe('BoardPageComponent', () => {
           name: 'An Vu',
           headline: 'Software Engineer',
         }),
-      getBoardPermissions: () => of({ canEdit: true }),
-      getWidgets: () => of([]),
       createWidget: () =>
         of({
           id: 1,
@@ -145,16 +158,7 @@ describe('BoardPageComponent', () => {
   });
 
   it('should render loading state before board resolves', () => {
-    boardServiceStub.getBoard = () =>
-      defer(() =>
-        Promise.resolve({
-          id: 'default',
-          boardName: 'Default',
-          boardUrl: 'default',
-          name: 'An Vu',
-          headline: 'Software Engineer',
-        })
-      );
+    boardServiceStub.getBoardPage = () => defer(() => Promise.resolve(DEFAULT_PAGE));
 
     fixture = TestBed.createComponent(BoardPageComponent);
     fixture.detectChanges();
@@ -163,7 +167,7 @@ describe('BoardPageComponent', () => {
   });
 
   it('should render missing state when board request fails', () => {
-    boardServiceStub.getBoard = () => throwError(() => new Error('boom'));
+    boardServiceStub.getBoardPage = () => throwError(() => new Error('boom'));
 
     fixture = TestBed.createComponent(BoardPageComponent);
     fixture.detectChanges();
@@ -171,6 +175,15 @@ describe('BoardPageComponent', () => {
     expect(compiled.textContent).toContain('Board not found.');
   });
 
+  it('should take edit permission from the page response', () => {
+    boardServiceStub.getBoardPage = () => of({ ...DEFAULT_PAGE, canEdit: false });
+
+    fixture = TestBed.createComponent(BoardPageComponent);
+    component = fixture.componentInstance;
+    fixture.detectChanges();
+    expect(component.canEditBoard).toBe(false);
+  });
+
   it('should normalize local order when moving widgets down', () => {
     fixture = TestBed.createComponent(BoardPageComponent);
     component = fixture.componentInstance;
@@ -1,20 +1,22 @@
 import type { ParamMap } from '@angular/router';
 import { Observable, of } from 'rxjs';
-import { catchError, map, startWith, switchMap, tap } from 'rxjs/operators';
+import { catchError, distinctUntilChanged, map, shareReplay, startWith, switchMap, tap } from 'rxjs/operators';
 
-import type { Board } from '../../models/board';
+import type { Board, BoardPage } from '../../models/board';
 import type { Widget } from '../../models/widget';
 
 export type BoardPageState =
   | { status: 'loading' }
-  | { status: 'ready'; board: Board }
+  | { status: 'ready'; board: Board; widgets: Widget[]; canEdit: boolean }
   | { status: 'missing' };
 
+const NO_WIDGETS: Widget[] = [];
+
 export function createPageStateStream(params: {
   reload$: Observable<unknown>;
   routeParamMap$: Observable<ParamMap>;
   resolveBoardId$: (routeParamBoardId: string | null, routeParamUsername: string | null) => Observable<string>;
-  loadBoard: (boardId: string) => Observable<Board>;
+  loadPage: (boardId: string) => Observable<BoardPage>;
   recordBoardView: (boardId: string) => void;
   onState: (state: BoardPageState) => void;
 }): Observable<BoardPageState> {
@@ -29,11 +31,18 @@ export function createPageStateStream(params: {
             .resolveBoardId$(routeParams.get('boardId'), routeParams.get('username'))
             .pipe(
               switchMap((boardId) =>
-                params.loadBoard(boardId).pipe(
-                  tap((board) => {
-                    params.recordBoardView(board.id);
+                params.loadPage(boardId).pipe(
+                  tap((page) => {
+                    params.recordBoardView(page.board.id);
                   }),
-                  map((board): BoardPageState => ({ status: 'ready', board })),
+                  map(
+                    (page): BoardPageState => ({
+                      status: 'ready',
+                      board: page.board,
+                      widgets: [...page.widgets].sort((a, b) => a.order - b.order),
+                      canEdit: page.canEdit,
+                    })
+                  ),
                   catchError(() => of<BoardPageState>({ status: 'missing' }))
                 )
               )
@@ -50,36 +59,15 @@ export function createPageStateStream(params: {
           params.onState(state);
         })
       )
-    )
+    ),
+    // Several template bindings read the page; they share one /page request per load.
+    shareReplay({ bufferSize: 1, refCount: true })
   );
 }
 
-export function createWidgetsStream(params: {
-  reload$: Observable<unknown>;
-  routeParamMap$: Observable<ParamMap>;
-  resolveBoardId$: (routeParamBoardId: string | null, routeParamUsername: string | null) => Observable<string>;
-  loadWidgets: (boardId: string) => Observable<Widget[]>;
-  onBoardResolved: (boardId: string) => void;
-}): Observable<Widget[]> {
-  return params.reload$.pipe(
-    startWith(undefined),
-    switchMap(() =>
-      params.routeParamMap$.pipe(
-        switchMap((routeParams) =>
-          params.resolveBoardId$(routeParams.get('boardId'), routeParams.get('username')).pipe(
-            tap((boardId) => {
-              params.onBoardResolved(boardId);
-            }),
-            switchMap((boardId) =>
-              params.loadWidgets(boardId).pipe(
-                map((widgets) => [...widgets].sort((a, b) => a.order - b.order)),
-                catchError(() => of<Widget[]>([])),
-                startWith<Widget[]>([])
-              )
-            )
-          )
-        )
-      )
-    )
+export function selectWidgets(pageState$: Observable<BoardPageState>): Observable<Widget[]> {
+  return pageState$.pipe(
+    map((state) => (state.status === 'ready' ? state.widgets : NO_WIDGETS)),
+    distinctUntilChanged()
   );
 }
@@ -46,7 +46,6 @@ import {
   applyOnWidgetDraftFieldChange,
   applyOnWidgetTypeChange,
   getDraftValidationErrorState,
-  runLoadBoardPermissions,
 } from './board-page.ui-state';
 import {
   applyAddNewWidgetAction,
@@ -67,7 +66,7 @@ import {
 } from './board-page.overlay-menus';
 import {
   createPageStateStream,
-  createWidgetsStream,
+  selectWidgets,
   type BoardPageState,
 } from './board-page.streams';
 import { runDoneWidgetEditAdapter } from './board-page.save-flow-adapter';
@@ -91,7 +90,6 @@ export class BoardPageComponent {
   private destroyRef = inject(DestroyRef);
   private cdr = inject(ChangeDetectorRef);
   private reload$ = new Subject<void>();
-  private boardPermissionsRequestId = 0;
 
   isWidgetEditMode = false;
   isWidgetSaving = false;
@@ -138,13 +136,14 @@ export class BoardPageComponent {
     routeParamMap$: this.route.paramMap,
     resolveBoardId$: (routeParamBoardId, routeParamUsername) =>
       this.resolveBoardId$(routeParamBoardId, routeParamUsername),
-    loadBoard: (boardId) => this.boardService.getBoard(boardId),
+    loadPage: (boardId) => this.boardService.getBoardPage(boardId),
     recordBoardView: (boardId) => {
-      this.insightsService.recordView(boardId, 'direct').subscribe({ error: () => { } });
+      this.insightsService.queueEvent({ type: 'view', boardId, source: 'direct' });
     },
     onState: (state) => {
       if (state.status === 'ready') {
-        this.loadBoardPermissions(state.board.boardUrl);
+        this.canEditBoard = state.canEdit;
+        this.activeBoardUrl = state.board.boardUrl;
       } else {
         this.canEditBoard = false;
         this.activeBoardUrl = '';
@@ -163,16 +162,7 @@ export class BoardPageComponent {
     },
   });
 
-  widgets$ = createWidgetsStream({
-    reload$: this.reload$,
-    routeParamMap$: this.route.paramMap,
-    resolveBoardId$: (routeParamBoardId, routeParamUsername) =>
-      this.resolveBoardId$(routeParamBoardId, routeParamUsername),
-    loadWidgets: (boardId) => this.boardService.getWidgets(boardId),
-    onBoardResolved: (boardId) => {
-      this.activeBoardUrl = boardId;
-    },
-  });
+  widgets$ = selectWidgets(this.pageState$);
 
   trackWidget(index: number, widget: Widget) {
     return widget.id ?? index;
@@ -501,21 +491,6 @@ export class BoardPageComponent {
     });
   }
 
-  private loadBoardPermissions(boardUrl: string) {
-    const requestId = ++this.boardPermissionsRequestId;
-    runLoadBoardPermissions({
-      boardService: this.boardService,
-      boardUrl,
-      onCanEditChange: (canEdit) => {
-        if (requestId !== this.boardPermissionsRequestId) {
-          return;
-        }
-        this.canEditBoard = canEdit;
-        this.cdr.markForCheck();
-      },
-    });
-  }
-
   private persistBoardUrlDraft() {
     runPersistBoardUrlDraftAction({
       boardService: this.boardService,
@@ -1,21 +1,5 @@
-import type { BoardService } from '../../services/board.service';
 import type { WidgetDraft } from './board-page.widget-edit';
 
-export function runLoadBoardPermissions(params: {
-  boardService: BoardService;
-  boardUrl: string;
-  onCanEditChange: (canEdit: boolean) => void;
-}): void {
-  params.boardService.getBoardPermissions(params.boardUrl).subscribe({
-    next: (permissions) => {
-      params.onCanEditChange(!!permissions.canEdit);
-    },
-    error: () => {
-      params.onCanEditChange(false);
-    },
-  });
-}
-
 export function applyOnNewWidgetTypeChange(params: {
   newWidgetDraft: WidgetDraft;
   resetWidgetConfigForType: (draft: WidgetDraft) => void;
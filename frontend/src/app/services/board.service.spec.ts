@@ -29,6 +29,14 @@ describe('BoardService', () => {
     req.flush({ id: 'default', boardName: 'Default', boardUrl: 'default', name: 'An', headline: 'H' });
   });
 
+  it('should call backend GET board page endpoint', () => {
+    service.getBoardPage('default').subscribe();
+
+    const req = httpMock.expectOne('/api/board/default/page');
+    expect(req.request.method).toBe('GET');
+    req.flush({});
+  });
+
   it('should call backend GET boards endpoint', () => {
     service.getBoards().subscribe();
 
@@ -3,6 +3,7 @@ import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import type {
   Board,
+  BoardPage,
   SystemRoutes,
   UpdateBoardIdentityRequest,
   UpdateBoardMetaRequest,
@@ -27,6 +28,11 @@ export class BoardService {
     return this.http.get<Board>(`/api/board/${boardId}`);
   }
 
+  // Board, cards, widgets, edit permission and system routes in one round trip.
+  getBoardPage(boardId: string): Observable<BoardPage> {
+    return this.http.get<BoardPage>(`/api/board/${boardId}/page`);
+  }
+
   getBoards(): Observable<Board[]> {
     return this.http.get<Board[]>(`/api/board`);
   }
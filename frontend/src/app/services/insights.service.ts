@@ -1,16 +1,55 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import type { InsightsSummary } from '../models/insights';
+import type {
+  InsightsEvent,
+  InsightsSummary,
+} from '../models/insights';
+
+const MAX_QUEUED_EVENTS = 100;
 
 @Injectable({ providedIn: 'root' })
 export class InsightsService {
-  constructor(private http: HttpClient) {}
+  private queuedEvents: InsightsEvent[] = [];
+
+  constructor(private http: HttpClient) {
+    if (typeof window !== 'undefined') {
+      window.addEventListener('pagehide', () => this.flushEvents());
+      document.addEventListener('visibilitychange', () => {
+        if (document.visibilityState === 'hidden') {
+          this.flushEvents();
+        }
+      });
+    }
+  }
 
   recordView(boardId: string, source = 'direct'): Observable<void> {
     return this.http.post<void>(`/api/insights/view`, { boardId, source });
   }
 
+  queueEvent(event: InsightsEvent): void {
+    this.queuedEvents.push(event);
+    if (this.queuedEvents.length >= MAX_QUEUED_EVENTS) {
+      this.flushEvents();
+    }
+  }
+
+  flushEvents(): void {
+    if (this.queuedEvents.length === 0) {
+      return;
+    }
+    const events = this.queuedEvents;
+    this.queuedEvents = [];
+    // text/plain keeps the beacon a CORS simple request.
+    const body = new Blob([JSON.stringify(events)], { type: 'text/plain' });
+    if (typeof navigator !== 'undefined' && navigator.sendBeacon?.('/api/insights/events', body)) {
+      return;
+    }
+    this.http
+      .post<void>(`/api/insights/events`, events)
+      .subscribe({ error: () => { } });
+  }
+
   getSummary(boardId: string): Observable<InsightsSummary> {
     return this.http.get<InsightsSummary>(`/api/insights/${boardId}/summary`);
   }